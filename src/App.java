@@ -24,11 +24,27 @@
  * Thu 2025-09-18 Implemented samael.scribe.ResourceLoader.         Version: 00.05
  * Thu 2025-09-18 Logged more sophisticated messages.               Version: 00.06
  * Mon 2025-10-20 Restructured ResourceLoader import path.          Version: 00.07
+ * Fri 2026-10-16 Switched the log file to asynchronous writing.    Version: 00.08
+ * Fri 2026-10-16 Daily and size based log rotation enabled.        Version: 00.09
+ * Fri 2026-10-16 Merged Debug and Log calls into Logger.           Version: 00.10
+ * Fri 2026-10-16 Flight recorder dump on uncaught exceptions.      Version: 00.11
+ * Fri 2026-10-16 Console output written by a background thread.    Version: 00.12
+ * Fri 2026-10-16 Log folder location taken from the configuration. Version: 00.13
+ * Fri 2026-10-16 Loads HelloJWorld.cfg from the working directory. Version: 00.14
+ * Fri 2026-10-16 Config file is watched; level masks follow it.    Version: 00.15
+ * Fri 2026-10-16 Config access counters published through JMX.     Version: 00.16
+ * Fri 2026-10-16 Icon and page preloaded while the frame is built. Version: 00.17
+ * Fri 2026-10-16 One level mask each for console and log file.     Version: 00.18
+ * Fri 2026-10-16 A failed icon load is logged.                     Version: 00.19
  * ------------------------------------------------------------------------------- */
 import hellojworld.gui.*;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
 import javax.swing.SwingUtilities;
 import samael.huginandmunin.*;
 import samael.chronicle.Config;
+import samael.chronicle.ConfigStats;
 import samael.necronomicon.ResourceLoader;
 
 /**
@@ -67,34 +83,61 @@ public class App {
 
         String msg1;
 
+        // Optional key=value file next to the application; missing keys keep their defaults.
+        Config.load(Paths.get(Config.getString("App.Name") + ".cfg"));
+
         Debug.init(args);
+        FlightRecorder.installUncaughtExceptionHandler();
+        Logger.CONSOLE.setAsync(4096, Log.OverflowPolicy.DropOldest);
+        Log.setRolling(10L * 1024 * 1024, Duration.ofDays(1), 7);
+        Log.setDocumentsPath(Config.getString("App.DocumentsPath"));
         Log.init(Config.getString("App.LogName"));
+        Log.setAsync(1024, Log.OverflowPolicy.Block);
+
+        // The level masks follow Debug.Bitmask and Log.Bitmask, also when the file changes.
+        applyBitmasks();
+        Config.addListener(keys -> applyBitmasks());
+        Config.watch();
 
-        Debug.setBitmask(Debug.DebugLevel.All.value);
-        Log.setBitmask(Log.LogLevel.All.value);
+        // Hot, missing and failing config keys show up in JConsole under samael.chronicle.
+        ConfigStats.registerMBean();
 
         msg1 = "Starting " + Config.getString("App.Name") + " " + Config.getString("App.Version");
-        Debug.writeLine(Debug.DebugLevel.Info, msg1, "App");
-        Log.writeLine(Log.LogLevel.Info, msg1, "App");
+        Logger.writeLine(Level.Info, msg1, "App");
+
+        // Icon and page are read and decoded on the loader threads while Swing builds the frame.
+        ResourceLoader.preload(List.of("icons/" + Config.getString("App.IconName"), "html/hello.html"));
         
         // Using SwingUtilities.invokeLater to start a
         // Swing application as background task.
         SwingUtilities.invokeLater(() -> {
-            String msg2 = "Launching main frame.";
-            Debug.writeLine(Debug.DebugLevel.Info, msg2, "App");
-            Log.writeLine(Log.LogLevel.Info, msg2, "App");
+            Logger.writeLine(Level.Info, "Launching main frame.", "App");
 
             MainFrame mf = new MainFrame();
             
-            msg2 = "Loading application icon: " + Config.getString("App.IconName");
-            Debug.writeLine(Debug.DebugLevel.Info, msg2, "App");
-            Log.writeLine(Log.LogLevel.Info, msg2, "App");
-            mf.setIconImage(ResourceLoader.loadIcon(Config.getString("App.IconName")));
+            Logger.writeLine(Level.Info, "Loading application icon: {}", "App", Config.getString("App.IconName"));
+            ResourceLoader.loadIconAsync(Config.getString("App.IconName"))
+                .whenComplete((icon, ex) -> {
+                    if (ex != null) {
+                        Logger.writeLine(Level.Error, "Failed to load the application icon: {}", "App", ex);
+                    } else if (icon != null) {
+                        SwingUtilities.invokeLater(() -> mf.setIconImage(icon));
+                    }
+                });
             
-            msg2 = "Making main frame visible.";
-            Debug.writeLine(Debug.DebugLevel.Info, msg2, "App");
-            Log.writeLine(Log.LogLevel.Info, msg2, "App");
+            Logger.writeLine(Level.Info, "Making main frame visible.", "App");
             mf.setVisible(true);
         });
     }
+
+    /**
+     * Hands the configured level masks to Debug and Log, which the Logger's console and file
+     * sinks share. Called at startup and whenever the configuration file was reloaded.
+     */
+    private static void applyBitmasks() {
+        int debugMask = Config.getInt("Debug.Bitmask");
+        int logMask = Config.getInt("Log.Bitmask");
+        Debug.setBitmask(debugMask);                                        // Also Logger.CONSOLE's mask.
+        Log.setBitmask(logMask);                                            // Also Logger.FILE's mask.
+    }
 }
\ No newline at end of file
@@ -26,6 +26,12 @@
  * Wed 2025-09-17 Updated Config from huginandmunin to chronicle.               Version: 00.08
  * Thu 2025-09-18 Updated the Debug and Log messages to be more sophisticated.  Version: 00.09
  * Mon 2025-10-20 Tested ResourceLoader with new import path.                   Version: 00.10
+ * Fri 2026-10-16 Messages with Config lookups are built lazily via Supplier.   Version: 00.11
+ * Fri 2026-10-16 Debug and Log calls merged into the Logger facade.            Version: 00.12
+ * Fri 2026-10-16 Ctrl+Shift+D dumps the flight recorder.                       Version: 00.13
+ * Fri 2026-10-16 App.* and App.Label.* settings read through Config views.     Version: 00.14
+ * Fri 2026-10-16 Label page joins the preload started by App.                  Version: 00.15
+ * Fri 2026-10-16 Label page read with loadHtml(), which joins the preload too. Version: 00.16
  * ------------------------------------------------------------------------------------------- */
 package hellojworld.gui;
 
@@ -33,12 +39,14 @@ package hellojworld.gui;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
+import java.util.function.Supplier;
 import javax.swing.AbstractAction;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.KeyStroke;
 import samael.huginandmunin.*;
 import samael.chronicle.Config;
+import samael.chronicle.ConfigView;
 import samael.necronomicon.ResourceLoader;
 /**
  * This class serves as the primary window for the application. It
@@ -66,54 +74,63 @@ public class MainFrame extends JFrame {
      */
     public MainFrame() {
         String msg = "Initializing MainFrame.";
-        Debug.writeLine(Debug.DebugLevel.Info, msg, "MainFrame");
-        Log.writeLine(Log.LogLevel.Info, msg, "MainFrame");
+        Logger.writeLine(Level.Info, msg, "MainFrame");
 
-        msg = "Getting the title from the configuration: " + Config.getString("App.Name") + " - " + Config.getString("App.Version");
-        Debug.writeLine(Debug.DebugLevel.Verbose, msg, "MainFrame");
-        Log.writeLine(Log.LogLevel.Verbose, msg, "MainFrame");
-        setTitle(Config.getString("App.Name") + " - " + Config.getString("App.Version"));
+        // The frame reads its settings through views of the App and App.Label subtrees.
+        ConfigView app = Config.view("App");
+        ConfigView labelConfig = app.view("Label");
 
-        msg = "Setting the window size to " + Config.getInt("App.Width") + " x " + Config.getInt("App.Height");
-        Debug.writeLine(Debug.DebugLevel.Verbose, msg, "MainFrame");
-        Log.writeLine(Log.LogLevel.Verbose, msg, "MainFrame");
-        setSize(Config.getInt("App.Width"), Config.getInt("App.Height"));
+        // Messages that need Config lookups are only built when the Verbose level is enabled.
+        Supplier<String> lazy = () -> "Getting the title from the configuration: " + app.getString("Name") + " - " + app.getString("Version");
+        Logger.writeLine(Level.Verbose, lazy, "MainFrame");
+        setTitle(app.getString("Name") + " - " + app.getString("Version"));
+
+        lazy = () -> "Setting the window size to " + app.getInt("Width") + " x " + app.getInt("Height");
+        Logger.writeLine(Level.Verbose, lazy, "MainFrame");
+        setSize(app.getInt("Width"), app.getInt("Height"));
 
         msg = "Setting default close operation to EXIT_ON_CLOSE.";
-        Debug.writeLine(Debug.DebugLevel.Verbose, msg, "MainFrame");
-        Log.writeLine(Log.LogLevel.Verbose, msg, "MainFrame");
+        Logger.writeLine(Level.Verbose, msg, "MainFrame");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
         msg = "Setting location to center: null.";
-        Debug.writeLine(Debug.DebugLevel.Verbose, msg, "MainFrame");
-        Log.writeLine(Log.LogLevel.Verbose, msg, "MainFrame");
+        Logger.writeLine(Level.Verbose, msg, "MainFrame");
         setLocationRelativeTo(null); // Center the window
 
-        msg = "Getting the label text from the configuration: " + Config.getString("App.Label.Text");
-        Debug.writeLine(Debug.DebugLevel.Verbose, msg, "MainFrame");
-        Log.writeLine(Log.LogLevel.Verbose, msg, "MainFrame");
+        lazy = () -> "Getting the label text from the configuration: " + labelConfig.getString("Text");
+        Logger.writeLine(Level.Verbose, lazy, "MainFrame");
         //JLabel label = new JLabel(Config.getString("App.Label.Text"), JLabel.CENTER);
         //JLabel label = new JLabel(ResourceLoader.loadText("hello.txt"), JLabel.CENTER);
-        JLabel label = new JLabel(ResourceLoader.loadHtml("hello.html"), JLabel.CENTER);
+        JLabel label = new JLabel(ResourceLoader.loadHtml("hello.html"), JLabel.CENTER);   // Joins App's preload.
 
-        msg = "Setting label font to " + Config.getString("App.Label.Font") + ", size 24.";
-        Debug.writeLine(Debug.DebugLevel.Verbose, msg, "MainFrame");
-        Log.writeLine(Log.LogLevel.Verbose, msg, "MainFrame");
-        label.setFont(new Font(Config.getString("App.Label.Font"), Font.PLAIN, 24));
+        lazy = () -> "Setting label font to " + labelConfig.getString("Font") + ", size 24.";
+        Logger.writeLine(Level.Verbose, lazy, "MainFrame");
+        label.setFont(new Font(labelConfig.getString("Font"), Font.PLAIN, 24));
         add(label);
 
         msg = "Binding Ctrl+Q to exit action";
-        Debug.writeLine(Debug.DebugLevel.Verbose, msg, "MainFrame");
-        Log.writeLine(Log.LogLevel.Verbose, msg, "MainFrame");
+        Logger.writeLine(Level.Verbose, msg, "MainFrame");
         getRootPane().getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_Q, KeyEvent.CTRL_DOWN_MASK), "exitApp");
         getRootPane().getActionMap().put("exitApp", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 String msg1 = "Ctrl+Q pressed. Exiting application.";
-                Debug.writeLine(Debug.DebugLevel.Info, msg1, "MainFrame");
-                Log.writeLine(Log.LogLevel.Info, msg1, "MainFrame");
+                Logger.writeLine(Level.Info, msg1, "MainFrame");
                 System.exit(0);
             }
         });
+
+        msg = "Binding Ctrl+Shift+D to flight recorder dump action";
+        Logger.writeLine(Level.Verbose, msg, "MainFrame");
+        getRootPane().getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_D, KeyEvent.CTRL_DOWN_MASK | KeyEvent.SHIFT_DOWN_MASK), "dumpRecorder");
+        getRootPane().getActionMap().put("dumpRecorder", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                String msg1 = "Ctrl+Shift+D pressed. Dumping the flight recorder.";
+                Logger.writeLine(Level.Info, msg1, "MainFrame");
+                FlightRecorder.dump(System.out);
+                FlightRecorder.dumpToLog();
+            }
+        });
     }
 }
\ No newline at end of file
@@ -4,7 +4,11 @@
  * reasons. Config files can have sensitive data like passwords and API keys. If these sensitive
  * data are stored in plain text, they could be easily accessed by unauthorized users. By using
  * an in-memory storage solution, we can minimize the risk of exposing sensitive information.
- * Still handle with care.
+ * Still handle with care. Defaults can be overridden by a key=value file (load()), by
+ * system properties (-DApp.Width=800) and, once setEnvironmentOverrides(true) turned them on, by
+ * environment variables (APP_WIDTH for App.Width).
+ * All values live in an immutable snapshot that is swapped as a whole, so a watched file can
+ * be reloaded while the application runs without readers ever taking a lock.
  * ------------------------------------------------------------------------------------------------
  * Author:  Patrik Eigemann
  * eMail:   p.eigenmann72@gmail.com
@@ -26,12 +30,55 @@
  * Fri 2025-08-22 Private scope for get method.                                     Version: 00.13
  * Wed 2025-09-17 Added App.IconName for loading the application icon.              Version: 00.14
  * Wed 2025-09-17 Switched the package from huginandmunin to chronicle.             Version: 00.15
+ * Fri 2026-10-16 Added App.DocumentsPath to relocate the log folder.               Version: 00.16
+ * Fri 2026-10-16 Values are parsed once and cached per type; added getLong().      Version: 00.17
+ * Fri 2026-10-16 load() for key=value files, env and system property overrides.   Version: 00.18
+ * Fri 2026-10-16 Immutable snapshots, hot reload via WatchService, listeners.      Version: 00.19
+ * Fri 2026-10-16 Public set() as top layer, thread safe for many readers.         Version: 00.20
+ * Fri 2026-10-16 Typed key handles (intKey() etc.) reading array-indexed slots.    Version: 00.21
+ * Fri 2026-10-16 load() reads a current ConfigCompiler snapshot instead of text.  Version: 00.22
+ * Fri 2026-10-16 Booleans and integers parsed by the allocation-free ValueParser.  Version: 00.23
+ * Fri 2026-10-16 Keys indexed in a prefix trie; view() for scoped subtree access.  Version: 00.24
+ * Fri 2026-10-16 Lookups, misses and conversion failures counted in ConfigStats.   Version: 00.25
+ * Fri 2026-10-16 Keys declared by ConfigSchema, validated once per snapshot.       Version: 00.26
+ * Fri 2026-10-16 A \r\n split across two read blocks is one line break.            Version: 00.27
+ * Fri 2026-10-16 Watcher reloads on deletion and recovers from an invalid key.     Version: 00.28
+ * Fri 2026-10-16 debug() shared with ConfigStats.                                  Version: 00.29
+ * Fri 2026-10-16 debug() also shared with ConfigCompiler.                          Version: 00.30
+ * Fri 2026-10-16 Declared values checked while their entry is built, parsed once.  Version: 00.31
+ * Fri 2026-10-16 Text files read in blocks instead of mapped, editors can save.    Version: 00.32
+ * Fri 2026-10-16 define() applies the overrides of a key new to the layers.        Version: 00.33
+ * Fri 2026-10-16 Environment overrides are opt-in, setEnvironmentOverrides().      Version: 00.34
  * ------------------------------------------------------------------------------------------------ */
 package samael.chronicle;
 
 // Standard Java imports. These imports are needed to have the Config class working properly.
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The Config class is a lazy initialized thread safe singleton class, so it is only one time
@@ -65,29 +112,1095 @@ public final class Config {
         return Holder.INSTANCE;
     }
 
-    /** In-memory key=value store */
-    private final Map<String, String> settings;
+    /**
+     * One stored value together with its parsed forms. Every typed getter parses the text once
+     * and keeps the result in a primitive slot; later reads only test a flag. The slots are
+     * written before the flag is published through the volatile {@code parsed} mask, so another
+     * thread either sees a complete slot or parses again, never a half written one. A changed
+     * value gets a new Entry in the next snapshot, which throws the whole cache of the old value
+     * away.
+     */
+    static final class Entry {
+
+        /** Flag bits of the parsed mask, one per type. */
+        static final int INT = 1, LONG = 2, FLOAT = 4, DOUBLE = 8, BOOLEAN = 16;
+
+        /** The same bits shifted, set when the text could not be parsed into that type. */
+        static final int FAILED = 8;
+
+        /** The value as it was set. */
+        final String text;
+
+        /** Which slots are filled (low bits) or failed to parse (bits shifted by FAILED). */
+        volatile int parsed;
+
+        /** Cached int value, valid once the INT bit is set. */
+        int intValue;
+
+        /** Cached long value, valid once the LONG bit is set. */
+        long longValue;
+
+        /** Cached float value, valid once the FLOAT bit is set. */
+        float floatValue;
+
+        /** Cached double value, valid once the DOUBLE bit is set. */
+        double doubleValue;
+
+        /** Cached boolean value, valid once the BOOLEAN bit is set. */
+        boolean booleanValue;
+
+        /** The access counters of the key; set before the entry is published. */
+        ConfigStats.Counters counters;
+
+        /**
+         * Creates an entry that has not been parsed yet.
+         * @param text The value as it was set.
+         */
+        Entry(String text) {
+            this.text = text;
+        }
+
+        /**
+         * Publishes a slot or a failure. Two threads parsing different types at the same time
+         * may lose each other's bit; that only means the value is parsed once more later.
+         * @param bit The type bit, shifted by FAILED for a failure.
+         */
+        void mark(int bit) {
+            parsed = parsed | bit;
+        }
+
+        /** Counts a read of the value. */
+        void hit() {
+            if (ConfigStats.enabled) {
+                counters.lookups.increment();
+            }
+        }
+
+        /** Counts a read whose value didn't convert into the requested type. */
+        void failed() {
+            if (ConfigStats.enabled) {
+                counters.failures.increment();
+            }
+        }
+
+        /**
+         * Parses the text into every type at once, quietly, and publishes all filled slots
+         * together. Failures are not marked, so the first read of a type that doesn't fit still
+         * reports it. Used by the ConfigCompiler to store the parsed forms in a snapshot.
+         */
+        void parseAll() {
+            int bits = ValueParser.parseInt(text, this) ? INT : 0;
+            bits |= ValueParser.parseLong(text, this) ? LONG : 0;
+            try {
+                floatValue = Float.parseFloat(text);
+                bits |= FLOAT;
+            } catch (NumberFormatException ex) {
+                // Not a float; the slot stays empty.
+            }
+            try {
+                doubleValue = Double.parseDouble(text);
+                bits |= DOUBLE;
+            } catch (NumberFormatException ex) {
+                // Not a double; the slot stays empty.
+            }
+            int value = ValueParser.parseBoolean(text);
+            if (value != ValueParser.INVALID) {
+                booleanValue = value == ValueParser.TRUE;
+                bits |= BOOLEAN;
+            }
+            parsed = bits;
+        }
+    }
+
+    /** Number of bytes of a config file read and scanned at a time. */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * Gets told about configuration changes. Called on the thread that changed the
+     * configuration, for a watched file that is the watcher thread, not the Swing EDT.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called after a new snapshot has been published.
+         * @param keys The keys whose value was added, changed or removed.
+         */
+        void configChanged(Set<String> keys);
+    }
+
+    /** How long the watcher waits for more file events before it reloads, in milliseconds. */
+    private static final long RELOAD_DELAY_MILLIS = 100;
+
+    /** Whether environment variables override keys; off unless setEnvironmentOverrides(true). */
+    private static volatile boolean environmentOverrides = false;
+
+    /** The built-in defaults, the bottom layer of every snapshot. */
+    private final Map<String, String> defaults = new LinkedHashMap<>();
+
+    /** The declared keys, in declaration order. Guarded by the Config lock. */
+    private final Map<String, ConfigSchema> schema = new LinkedHashMap<>();
+
+    /**
+     * One node of the prefix trie over the dotted keys: App.Label.Text lives at the path
+     * App, Label, Text. A node knows its full key, so nobody has to concatenate it. Nodes are
+     * only changed while a new trie is built; once published with a snapshot they are shared
+     * between snapshots and never touched again.
+     */
+    static final class Node {
+
+        /** The full key of the node, e.g. App.Label; empty for the root. */
+        final String key;
+
+        /** The child nodes by key segment. */
+        final Map<String, Node> children;
+
+        /** The value stored under exactly this key, or null if the key only has children. */
+        Entry entry;
+
+        /**
+         * Creates a node.
+         * @param key The full key of the node.
+         * @param children The child nodes by key segment.
+         */
+        Node(String key, Map<String, Node> children) {
+            this.key = key;
+            this.children = children;
+        }
+
+        /**
+         * Stores an entry in a trie that is being built, creating the nodes on the way.
+         * @param key The full key.
+         * @param value The entry.
+         */
+        void put(String key, Entry value) {
+            Node node = this;
+            int start = 0;
+            while (true) {
+                int dot = key.indexOf('.', start);
+                String segment = dot < 0 ? key.substring(start) : key.substring(start, dot);
+                Node child = node.children.get(segment);
+                if (child == null) {
+                    child = new Node(dot < 0 ? key : key.substring(0, dot), new HashMap<>());
+                    node.children.put(segment, child);
+                }
+                node = child;
+                if (dot < 0) break;
+                start = dot + 1;
+            }
+            node.entry = value;
+        }
+
+        /**
+         * Returns a copy of this published trie with one entry replaced. Only the nodes on the
+         * path to the key are copied; everything else is shared with this trie.
+         * @param key The full key.
+         * @param start Where the segment of the child below this node starts in the key.
+         * @param value The new entry, or null to remove the value.
+         * @return The new root of the subtree.
+         */
+        Node with(String key, int start, Entry value) {
+            Node copy = new Node(this.key, new HashMap<>(children));
+            copy.entry = entry;
+            int dot = key.indexOf('.', start);
+            String segment = dot < 0 ? key.substring(start) : key.substring(start, dot);
+            Node child = children.get(segment);
+            if (dot < 0) {
+                Node leaf = new Node(key, child != null ? child.children : new HashMap<>());
+                leaf.entry = value;
+                copy.children.put(segment, leaf);
+            } else {
+                if (child == null) {
+                    child = new Node(key.substring(0, dot), new HashMap<>());
+                }
+                copy.children.put(segment, child.with(key, dot + 1, value));
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * One immutable state of the configuration: the entries by key, the same entries in the
+     * slots of the registered key handles, and in the prefix trie.
+     */
+    private static final class Snapshot {
+
+        /** The entries by key. */
+        final Map<String, Entry> map;
+
+        /** The entries of the registered key handles, by handle index; null for unknown keys. */
+        final Entry[] slots;
+
+        /** The root of the prefix trie over all keys. */
+        final Node root;
+
+        /**
+         * Creates a snapshot.
+         * @param map The entries by key, not modified afterwards.
+         * @param slots The handle slots, not modified afterwards.
+         * @param root The root of the prefix trie, not modified afterwards.
+         */
+        Snapshot(Map<String, Entry> map, Entry[] slots, Node root) {
+            this.map = map;
+            this.slots = slots;
+            this.root = root;
+        }
+    }
+
+    /**
+     * The current immutable snapshot. Readers fetch it with a single volatile read; a reload
+     * builds a complete new snapshot and swaps it in, so nobody sees a half-applied update.
+     */
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(Map.of(), new Entry[0], new Node("", Map.of())));
+
+    /** The keys of the registered key handles, by handle index. Guarded by the Config lock. */
+    private final List<String> handleKeys = new ArrayList<>();
+
+    /** The handle index of each registered key. Guarded by the Config lock. */
+    private final Map<String, Integer> handleIndex = new HashMap<>();
+
+    /** Registered change listeners. */
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Values set at runtime through set(); the top layer. Guarded by the Config lock. */
+    private final Map<String, String> runtime = new HashMap<>();
+
+    /** The layers below the runtime values as of the last build; restores a value set() clears. */
+    private Map<String, String> layered = Map.of();
+
+    /**
+     * The pre-parsed entries of the last snapshot file read by build() or load(), by key;
+     * publish() takes them instead of fresh entries. Guarded by the Config lock.
+     */
+    private Map<String, Entry> compiled = Map.of();
+
+    /** The configuration file given to load(), or null. */
+    private Path file;
+
+    /** The watch service of the watcher thread, or null when the file is not watched. */
+    private WatchService watcher;
 
     /** Private constructor to prevent external instantiation */
     private Config() {
-        settings = new HashMap<>();
-        setSetting("App.Name", "HelloJWorld");
-        setSetting("App.Version", "00.06");
-        setSetting("App.Author", "Patrik Eigemann");
-        setSetting("App.Label.Text", "Hello Java World!");
-        setSetting("App.Label.Font", "Courier New");
-        setSetting("App.LogName", "HelloJWorld.log");
-        setSetting("App.Width", "300");
-        setSetting("App.Height", "120");
-        setSetting("App.IconName", "home.png");
+        setSetting(ConfigSchema.ofString("App.Name", "HelloJWorld", "Name of the application, also the name of its config file."));
+        setSetting(ConfigSchema.ofString("App.Version", "00.06", "Version shown in the window title."));
+        setSetting(ConfigSchema.ofString("App.Author", "Patrik Eigemann", "Author of the application."));
+        setSetting(ConfigSchema.ofString("App.Label.Text", "Hello Java World!", "Text of the label in the main window."));
+        setSetting(ConfigSchema.ofString("App.Label.Font", "Courier New", "Font family of the label."));
+        setSetting(ConfigSchema.ofString("App.LogName", "HelloJWorld.log", "File name of the log file."));
+        setSetting(ConfigSchema.ofInt("App.Width", 300, 1, 10000, "Width of the main window in pixels."));
+        setSetting(ConfigSchema.ofInt("App.Height", 120, 1, 10000, "Height of the main window in pixels."));
+        setSetting(ConfigSchema.ofString("App.IconName", "home.png", "Resource name of the window icon."));
+        setSetting(ConfigSchema.ofString("App.DocumentsPath", "", "Folder that holds the log folder; empty for the user's documents."));
+        setSetting(ConfigSchema.ofInt("Debug.Bitmask", 15, 0, 15, "Debug levels shown on the console, see DebugLevel."));
+        setSetting(ConfigSchema.ofInt("Log.Bitmask", 15, 0, 15, "Levels written to the log file, see Level."));
+        publish(build());
+    }
+
+    /**
+     * Loads a configuration file on top of the defaults; it replaces whatever an earlier load()
+     * brought in. The file holds one
+     * {@code key=value} per line; blank lines and lines starting with {@code #} or {@code !}
+     * are ignored, and whitespace around key and value is dropped. There are no escapes or
+     * line continuations. The file is read in large blocks and scanned in a single pass without a
+     * Reader or per-line Strings; only the keys and values themselves become Strings, which keeps
+     * startup fast even for files with thousands of keys.
+     * <p>
+     * System properties, and environment variables if turned on, still win over the file, see
+     * {@link #setEnvironmentOverrides(boolean)}.
+     *
+     * The file is remembered, so {@link #watch()} can follow it even if it doesn't exist yet.
+     * <p>
+     * If {@link ConfigCompiler} compiled the file into a snapshot and the file wasn't changed
+     * since, the snapshot is read instead: its values come already parsed, so no text is
+     * scanned and no number is parsed at startup.
+     *
+     * @param file The configuration file, UTF-8 encoded.
+     * @return true if the file was loaded, false if it doesn't exist or can't be read.
+     */
+    public static boolean load(Path file) {
+        Config config = getInstance();
+        Set<String> changed;
+        boolean loaded;
+        synchronized (config) {
+            config.file = file.toAbsolutePath();
+            Map<String, String> values = new HashMap<>(config.defaults);
+            loaded = config.readConfig(config.file, values);
+            applyOverrides(values);
+            changed = config.publish(values);
+        }
+        config.notifyListeners(changed);
+        return loaded;
+    }
+
+    /**
+     * Turns the environment overrides on or off and rebuilds the configuration. Off by default:
+     * a key is looked up in upper case with dots as underscores ({@code App.Width} becomes
+     * {@code APP_WIDTH}), and such a name can just as well belong to an unrelated variable of
+     * the environment, e.g. an {@code APP_NAME} set by some launcher.
+     * @param enabled true to let environment variables override the file and the defaults.
+     */
+    public static void setEnvironmentOverrides(boolean enabled) {
+        Config config = getInstance();
+        Set<String> changed;
+        synchronized (config) {
+            if (environmentOverrides == enabled) return;
+
+            environmentOverrides = enabled;
+            changed = config.publish(config.build());
+        }
+        config.notifyListeners(changed);
+    }
+
+    /**
+     * Tells whether environment variables override keys.
+     * @return true once setEnvironmentOverrides(true) turned them on.
+     */
+    public static boolean isEnvironmentOverrides() {
+        return environmentOverrides;
+    }
+
+    /**
+     * Sets a value at runtime. It wins over defaults, file, environment and system properties
+     * and survives reloads of the file. Readers on other threads see either the old or the new
+     * value, never anything in between; they never wait for a writer. Writers serialize and copy
+     * the snapshot, which suits configuration: read all the time, written now and then.
+     *
+     * @param key The configuration key to set.
+     * @param value The new value, or null to drop the runtime value and fall back to the layers below.
+     */
+    public static void set(String key, String value) {
+        Config config = getInstance();
+        synchronized (config) {
+            ConfigSchema field = config.schema.get(key);
+            Entry checked = null;
+            if (value != null && field != null) {
+                checked = new Entry(value);
+                String reason = field.check(checked);                       // Fills the typed slot.
+                if (reason != null) {
+                    debug("Rejected " + key + "='" + value + "': the value " + reason + ".");
+                    return;
+                }
+            }
+
+            String effective;
+            if (value != null) {
+                config.runtime.put(key, value);
+                effective = value;
+            } else {
+                config.runtime.remove(key);
+                effective = config.layered.get(key);
+            }
+
+            Snapshot current = config.snapshot.get();
+            Entry entry = current.map.get(key);
+            if (entry == null ? effective == null : entry.text.equals(effective)) return;
+
+            Map<String, Entry> next = new HashMap<>(current.map);
+            entry = checked;
+            if (entry == null && effective != null) {
+                entry = config.checked(key, effective);
+            }
+            if (entry != null) {
+                entry.counters = ConfigStats.counters(key);
+                next.put(key, entry);
+            } else {
+                next.remove(key);
+            }
+            Entry[] slots = current.slots;
+            Integer index = config.handleIndex.get(key);
+            if (index != null) {
+                slots = slots.clone();
+                slots[index] = entry;
+            }
+            Node root = current.root.with(key, 0, entry);
+            config.snapshot.set(new Snapshot(Collections.unmodifiableMap(next), slots, root));
+        }
+        config.notifyListeners(Set.of(key));
+    }
+
+    /**
+     * Resolves a key once into a handle for int values. The handle reads its value from an
+     * array slot of the current snapshot: no hashing, no boxing, one bounds-checked load, which
+     * suits hot loops. The handle follows reloads and set(). A key that isn't known yet is
+     * reported right away, not on the first read.
+     * @param key The configuration key.
+     * @return The handle.
+     */
+    public static ConfigKey.IntKey intKey(String key) {
+        return new ConfigKey.IntKey(key, register(key));
+    }
+
+    /**
+     * Resolves a key once into a handle for long values, see {@link #intKey(String)}.
+     * @param key The configuration key.
+     * @return The handle.
+     */
+    public static ConfigKey.LongKey longKey(String key) {
+        return new ConfigKey.LongKey(key, register(key));
+    }
+
+    /**
+     * Resolves a key once into a handle for float values, see {@link #intKey(String)}.
+     * @param key The configuration key.
+     * @return The handle.
+     */
+    public static ConfigKey.FloatKey floatKey(String key) {
+        return new ConfigKey.FloatKey(key, register(key));
+    }
+
+    /**
+     * Resolves a key once into a handle for double values, see {@link #intKey(String)}.
+     * @param key The configuration key.
+     * @return The handle.
+     */
+    public static ConfigKey.DoubleKey doubleKey(String key) {
+        return new ConfigKey.DoubleKey(key, register(key));
+    }
+
+    /**
+     * Resolves a key once into a handle for boolean values, see {@link #intKey(String)}.
+     * @param key The configuration key.
+     * @return The handle.
+     */
+    public static ConfigKey.BooleanKey booleanKey(String key) {
+        return new ConfigKey.BooleanKey(key, register(key));
+    }
+
+    /**
+     * Resolves a key once into a handle for char values, see {@link #intKey(String)}.
+     * @param key The configuration key.
+     * @return The handle.
+     */
+    public static ConfigKey.CharKey charKey(String key) {
+        return new ConfigKey.CharKey(key, register(key));
+    }
+
+    /**
+     * Resolves a key once into a handle for String values, see {@link #intKey(String)}.
+     * @param key The configuration key.
+     * @return The handle.
+     */
+    public static ConfigKey.StringKey stringKey(String key) {
+        return new ConfigKey.StringKey(key, register(key));
+    }
+
+    /**
+     * Declares a key: its type, default, range and description. The default becomes the
+     * bottom layer of the key, and from now on the value of the key is checked whenever a
+     * snapshot is built; a value that doesn't fit is reported once and replaced by the default,
+     * set() rejects it. A valid value is parsed into its typed slot right away, so reads never
+     * parse. Declaring a key again replaces the old declaration.
+     * @param field The declaration.
+     */
+    public static void define(ConfigSchema field) {
+        Config config = getInstance();
+        Set<String> changed;
+        synchronized (config) {
+            String previousDefault = config.defaults.get(field.getKey());
+            config.setSetting(field);
+
+            // Only the new default changes; a value from the file stays. A key the earlier layers
+            // didn't know yet gets its environment and system property override now, not only
+            // with the next reload.
+            Map<String, String> values = new HashMap<>(config.layered);
+            String current = values.get(field.getKey());
+            if (current == null || current.equals(previousDefault)) {
+                values.put(field.getKey(), field.getDefault());
+            }
+            applyOverride(field.getKey(), values);
+            changed = config.publish(values, field.getKey());
+        }
+        config.notifyListeners(changed);
+    }
+
+    /**
+     * Returns the declaration of a key.
+     * @param key The configuration key.
+     * @return The declaration, or null if the key wasn't declared.
+     */
+    public static ConfigSchema getSchema(String key) {
+        Config config = getInstance();
+        synchronized (config) {
+            return config.schema.get(key);
+        }
+    }
+
+    /**
+     * Returns all declarations, e.g. to print a documented sample config file.
+     * @return The declarations in declaration order.
+     */
+    public static List<ConfigSchema> getSchemas() {
+        Config config = getInstance();
+        synchronized (config) {
+            return List.copyOf(config.schema.values());
+        }
+    }
+
+    /**
+     * Returns a scoped view of all keys below a prefix, e.g. {@code view("App.Label")} for
+     * App.Label.Text and App.Label.Font. The view reads its children straight from the prefix
+     * trie by their last segment ({@code view.getString("Text")}) without building the full key,
+     * and can walk its whole subtree in one pass. Like the key handles, a view follows reloads
+     * and set().
+     * @param prefix The dotted key prefix; empty for the whole configuration.
+     * @return The view.
+     */
+    public static ConfigView view(String prefix) {
+        return new ConfigView(prefix);
+    }
+
+    /**
+     * Returns the root of the prefix trie of the current snapshot.
+     * @return The root node.
+     */
+    static Node root() {
+        return getInstance().snapshot.get().root;
+    }
+
+    /**
+     * Returns the entry in a handle slot of the current snapshot.
+     * @param index The handle index.
+     * @return The entry, or null if the key has no value.
+     */
+    static Entry slot(int index) {
+        return getInstance().snapshot.get().slots[index];
+    }
+
+    /**
+     * Gives a key a handle slot, or returns the slot it already has. A new slot extends the
+     * current snapshot, so it can be read immediately.
+     * @param key The configuration key.
+     * @return The handle index.
+     */
+    private static int register(String key) {
+        Config config = getInstance();
+        synchronized (config) {
+            Integer index = config.handleIndex.get(key);
+            if (index != null) return index;
+
+            Snapshot current = config.snapshot.get();
+            Entry entry = current.map.get(key);
+            if (entry == null) {
+                debug("Key handle for unknown key '" + key + "'; it reads the default until the key is set.");
+            }
+            int next = config.handleKeys.size();
+            config.handleKeys.add(key);
+            config.handleIndex.put(key, next);
+            Entry[] slots = Arrays.copyOf(current.slots, next + 1);
+            slots[next] = entry;
+            config.snapshot.set(new Snapshot(current.map, slots, current.root));
+            return next;
+        }
+    }
+
+    /**
+     * Reads the loaded file again and publishes the result as a new snapshot. Called by the
+     * watcher thread, but can also be called directly.
+     */
+    public static void reload() {
+        Config config = getInstance();
+        Set<String> changed;
+        synchronized (config) {
+            changed = config.publish(config.build());
+        }
+        config.notifyListeners(changed);
+    }
+
+    /**
+     * Starts a background thread that reloads the configuration file whenever it is changed,
+     * created, replaced or deleted; without the file the defaults and overrides apply again.
+     * Does nothing if no file was loaded or it is already watched. Editors
+     * often write a file in several steps, so the reload waits until the file was quiet for
+     * {@value #RELOAD_DELAY_MILLIS} ms.
+     */
+    public static void watch() {
+        Config config = getInstance();
+        synchronized (config) {
+            if (config.file == null || config.watcher != null) return;
+
+            Path dir = config.file.getParent();
+            try {
+                WatchService service = FileSystems.getDefault().newWatchService();
+                register(dir, service);
+                config.watcher = service;
+                Thread thread = new Thread(() -> config.watchLoop(service, config.file.getFileName()), "Chronicle-ConfigWatcher");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException ex) {
+                debug("Failed to watch config file " + config.file + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    /** Stops the watcher thread started by watch(). */
+    public static void stopWatching() {
+        Config config = getInstance();
+        synchronized (config) {
+            if (config.watcher == null) return;
+
+            try {
+                config.watcher.close();
+            } catch (IOException ex) {
+                debug("Failed to stop watching the config file: " + ex.getMessage());
+            }
+            config.watcher = null;
+        }
+    }
+
+    /**
+     * Registers a listener that is told about every new snapshot, e.g. to let the Log and Debug
+     * bitmasks follow the configuration.
+     * @param listener The listener to add.
+     */
+    public static void addListener(Listener listener) {
+        getInstance().listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     * @param listener The listener to remove.
+     */
+    public static void removeListener(Listener listener) {
+        getInstance().listeners.remove(listener);
+    }
+
+    /**
+     * Registers the folder of the configuration file with the watch service.
+     * @param dir The folder of the configuration file.
+     * @param service The watch service.
+     * @throws IOException If the folder can't be watched.
+     */
+    private static void register(Path dir, WatchService service) throws IOException {
+        dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                     StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /**
+     * Body of the watcher thread: waits for events on the file, lets a burst of events settle
+     * and reloads once per burst. A key that is no longer valid (the folder was deleted or
+     * can't be watched anymore) is registered again; if that fails, the configuration is
+     * reloaded one last time and the thread ends.
+     * @param service The watch service.
+     * @param name The file name of the configuration file within the watched folder.
+     */
+    private void watchLoop(WatchService service, Path name) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean relevant = matches(key, name);
+                boolean valid = key.reset();
+                if (!relevant && valid) continue;
+
+                // Let the editor finish writing, swallowing the rest of the burst.
+                WatchKey more;
+                while (valid && (more = service.poll(RELOAD_DELAY_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    matches(more, name);
+                    valid = more.reset();
+                }
+                reload();
+                if (!valid && !rewatch(service)) return;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // stopWatching() closed the service, the thread ends here.
+        }
+    }
+
+    /**
+     * Registers the folder of the configuration file again after its key became invalid. If
+     * that fails the watch service is closed and released, so watch() can start over later.
+     * @param service The watch service.
+     * @return true if the folder is watched again.
+     */
+    private boolean rewatch(WatchService service) {
+        Path dir;
+        synchronized (this) {
+            dir = file.getParent();
+        }
+        try {
+            register(dir, service);
+            return true;
+        } catch (IOException ex) {
+            debug("Stopped watching config folder " + dir + ": " + ex.getMessage());
+        }
+        synchronized (this) {
+            if (watcher == service) {
+                watcher = null;
+            }
+        }
+        try {
+            service.close();
+        } catch (IOException ex) {
+            debug("Failed to close the config watch service: " + ex.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether a watch key carries an event for the configuration file. Consumes the events.
+     * @param key The signalled key.
+     * @param name The file name of the configuration file.
+     * @return true if one of the events concerns the file.
+     */
+    private static boolean matches(WatchKey key, Path name) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) {
+                relevant = true;
+            }
+        }
+        return relevant;
+    }
+
+    /**
+     * Builds the complete key=value set from the layers: defaults, file, environment and
+     * system properties.
+     * @return The new values.
+     */
+    private Map<String, String> build() {
+        Map<String, String> values = new HashMap<>(defaults);
+        if (file != null) {
+            readConfig(file, values);
+        }
+        applyOverrides(values);
+        return values;
+    }
+
+    /**
+     * Publishes a complete key=value set, topped with the runtime values, as the new snapshot.
+     * Entries whose text did not change are carried over with their parsed values; only changed
+     * keys start with an empty cache.
+     * @param values The new values of all layers below the runtime values.
+     * @return The keys that were added, changed or removed.
+     */
+    private Set<String> publish(Map<String, String> values) {
+        return publish(values, null);
+    }
+
+    /**
+     * Publishes a complete key=value set, see {@link #publish(Map)}. A changed value of a
+     * declared key is checked while its entry is built, so it is parsed once; a value that
+     * doesn't fit is reported once, here, and replaced by the declared default, also in the
+     * layers below the runtime values.
+     * @param values The new values of all layers below the runtime values, corrected in place.
+     * @param declared A key declared just now, whose carried over entry is checked too, or null.
+     * @return The keys that were added, changed or removed.
+     */
+    private Set<String> publish(Map<String, String> values, String declared) {
+        layered = values;
+        if (!runtime.isEmpty()) {
+            values = new HashMap<>(values);
+            values.putAll(runtime);
+        }
+
+        Map<String, Entry> current = snapshot.get().map;
+        Map<String, Entry> next = new HashMap<>(values.size() * 4 / 3 + 1);
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            String key = value.getKey();
+            Entry entry = current.get(key);
+            if (entry == null || !entry.text.equals(value.getValue()) || key.equals(declared)) {
+                Entry fresh = checked(key, value.getValue());
+                if (!fresh.text.equals(value.getValue())) {
+                    layered.replace(key, fresh.text);                       // Replaced by the default.
+                }
+                if (entry == null || !entry.text.equals(fresh.text)) {
+                    changed.add(key);
+                }
+                fresh.counters = ConfigStats.counters(key);
+                entry = fresh;
+            }
+            next.put(key, entry);
+        }
+        for (String key : current.keySet()) {
+            if (!values.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        Entry[] slots = new Entry[handleKeys.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = next.get(handleKeys.get(i));
+        }
+        Node root = new Node("", new HashMap<>());
+        for (Map.Entry<String, Entry> entry : next.entrySet()) {
+            root.put(entry.getKey(), entry.getValue());
+        }
+        snapshot.set(new Snapshot(Collections.unmodifiableMap(next), slots, root));
+        compiled = Map.of();
+        return changed;
+    }
+
+    /**
+     * Builds the entry of a value, taking the pre-parsed one of a compiled snapshot if it has
+     * the same text, and fills its typed slot if the key is declared. A value that doesn't fit
+     * its declaration is reported and replaced by an entry of the declared default.
+     * @param key The configuration key.
+     * @param text The value.
+     * @return The entry, of the value or of the default.
+     */
+    private Entry checked(String key, String text) {
+        Entry entry = compiled.get(key);
+        if (entry == null || !entry.text.equals(text)) {
+            entry = new Entry(text);
+        }
+        ConfigSchema field = schema.get(key);
+        if (field == null) return entry;
+
+        String reason = field.check(entry);                                 // Fills the typed slot.
+        if (reason == null) return entry;
+
+        debug("Key '" + key + "': the value '" + text + "' " + reason
+            + "; using the default '" + field.getDefault() + "'.");
+        entry = new Entry(field.getDefault());
+        field.check(entry);
+        return entry;
+    }
+
+    /**
+     * Tells every listener about a change. A failing listener doesn't stop the others.
+     * @param keys The changed keys; nothing happens if empty.
+     */
+    private void notifyListeners(Set<String> keys) {
+        if (keys.isEmpty()) return;
+
+        Set<String> view = Collections.unmodifiableSet(keys);
+        for (Listener listener : listeners) {
+            try {
+                listener.configChanged(view);
+            } catch (RuntimeException ex) {
+                debug("Config listener failed: " + ex);
+            }
+        }
+    }
+
+    /**
+     * Reads a configuration file into a key=value set, through its compiled snapshot if that
+     * is current, otherwise from the text.
+     * @param file The configuration file.
+     * @param values Receives the keys and values of the file.
+     * @return true if the snapshot or the file was read.
+     */
+    private boolean readConfig(Path file, Map<String, String> values) {
+        Map<String, Entry> entries = ConfigCompiler.read(file, values);
+        if (entries != null) {
+            compiled = entries;
+            return true;
+        }
+        return readFile(file, values);
+    }
+
+    /**
+     * Reads a configuration file into a key=value set.
+     * @param file The configuration file.
+     * @param values Receives the keys and values of the file.
+     * @return true if the file was read.
+     */
+    static boolean readFile(Path file, Map<String, String> values) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                debug("Config file " + file + " is too large.");
+                return false;
+            }
+            parse(channel, size, file, values);
+            return true;
+        } catch (NoSuchFileException ex) {
+            return false;
+        } catch (IOException ex) {
+            debug("Failed to load config file " + file + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Scans the file for key=value lines and stores them. The file is read in blocks of
+     * {@value #BLOCK_SIZE} bytes into one reused array and scanned there; a line only becomes
+     * Strings once its key and value boundaries are known. The file is read, not mapped: a
+     * mapping would live until some later garbage collection, and on Windows an editor can't
+     * save over a file that is still mapped, which is exactly what {@link #watch()} waits for.
+     * @param channel The open file.
+     * @param size The size of the file; a file that shrinks while it is read ends early.
+     * @param file The file name, for error messages.
+     * @param values Receives the keys and values.
+     * @throws IOException If the file can't be read.
+     */
+    private static void parse(FileChannel channel, long size, Path file, Map<String, String> values)
+            throws IOException {
+        byte[] block = new byte[BLOCK_SIZE];
+        int offset = 0;                                                     // File position of block[0]
+        int length = 0;                                                     // Valid bytes in block
+        int pos = 0;                                                        // Scan position in block
+        int line = 0;
+
+        while (true) {
+            // Find the end of the next line, refilling the block if the line runs past it. A '\r'
+            // in the last byte refills as well, so a "\r\n" split by the block end stays one break.
+            int end = pos;
+            while (end < length && block[end] != '\n' && block[end] != '\r') {
+                end++;
+            }
+            boolean split = end == length || end == length - 1 && block[end] == '\r';
+            if (split && offset + length < size) {
+                int keep = length - pos;
+                if (keep == block.length) {
+                    block = Arrays.copyOf(block, block.length * 2);
+                }
+                System.arraycopy(block, pos, block, 0, keep);
+                offset += pos;
+                int read = (int) Math.min(block.length - keep, size - offset - keep);
+                ByteBuffer target = ByteBuffer.wrap(block, keep, read);
+                while (target.hasRemaining()) {
+                    if (channel.read(target, offset + target.position()) < 0) break;
+                }
+                length = target.position();
+                if (target.hasRemaining()) {
+                    size = offset + length;
+                }
+                if (offset == 0 && length >= 3 && block[0] == (byte) 0xEF && block[1] == (byte) 0xBB && block[2] == (byte) 0xBF) {
+                    pos = 3;                                                // Skip a UTF-8 byte order mark.
+                } else {
+                    pos = 0;
+                }
+                continue;
+            }
+            if (pos == length) break;
+
+            line++;
+            parseLine(block, pos, end, file, line, values);
+            pos = end < length && block[end] == '\r' && end + 1 < length && block[end + 1] == '\n' ? end + 2 : end + 1;
+            pos = Math.min(pos, length);
+        }
+    }
+
+    /**
+     * Parses one line of a configuration file and stores its key and value.
+     * @param block The bytes holding the line.
+     * @param start The first byte of the line.
+     * @param end The end of the line (exclusive, without line break).
+     * @param file The file name, for error messages.
+     * @param line The line number, for error messages.
+     * @param values Receives the key and value.
+     */
+    private static void parseLine(byte[] block, int start, int end, Path file, int line, Map<String, String> values) {
+        int keyStart = skipBlanks(block, start, end);
+        if (keyStart == end || block[keyStart] == '#' || block[keyStart] == '!') return;
+
+        int equals = keyStart;
+        while (equals < end && block[equals] != '=') {
+            equals++;
+        }
+        if (equals == end) {
+            debug("Config file " + file + " line " + line + " has no '='.");
+            return;
+        }
+        int keyEnd = trimBlanks(block, keyStart, equals);
+        if (keyEnd == keyStart) {
+            debug("Config file " + file + " line " + line + " has no key.");
+            return;
+        }
+        int valueStart = skipBlanks(block, equals + 1, end);
+        int valueEnd = trimBlanks(block, valueStart, end);
+
+        values.put(new String(block, keyStart, keyEnd - keyStart, StandardCharsets.UTF_8),
+                   new String(block, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Applies the layered overrides on top of file and defaults, for every known key. The
+     * environment comes first, if setEnvironmentOverrides(true) turned it on, with the key in upper case and dots as underscores
+     * ({@code App.Width} becomes {@code APP_WIDTH}); a system property with the exact key name
+     * ({@code -DApp.Width=800}) wins over everything. Keys are only turned into environment
+     * names when their hash matches one of the (few) environment variables, so thousands of
+     * keys cost thousands of int lookups, not thousands of Strings.
+     * @param values The key=value set to apply the overrides to.
+     */
+    private static void applyOverrides(Map<String, String> values) {
+        Map<String, String> env = environmentOverrides ? System.getenv() : Map.of();
+        int[] envHashes = env.keySet().stream().mapToInt(String::hashCode).sorted().toArray();
+        if (envHashes.length > 0) {
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                if (Arrays.binarySearch(envHashes, envHash(entry.getKey())) < 0) continue;
+
+                String value = env.get(entry.getKey().toUpperCase(Locale.ROOT).replace('.', '_'));
+                if (value != null) {
+                    entry.setValue(value);
+                }
+            }
+        }
+
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (values.containsKey(name)) {
+                values.put(name, System.getProperty(name));
+            }
+        }
+    }
+
+    /**
+     * Applies the overrides of {@link #applyOverrides(Map)} to a single key of the set.
+     * @param key The configuration key; it must be in the set.
+     * @param values The key=value set to apply the override to.
+     */
+    private static void applyOverride(String key, Map<String, String> values) {
+        if (environmentOverrides) {
+            String value = System.getenv(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        String value = System.getProperty(key);
+        if (value != null) {
+            values.put(key, value);
+        }
     }
 
     /**
-     * Static proxy for getting a config value
+     * Computes the String hash of a key's environment name without building that name.
+     * @param key The configuration key.
+     * @return The hash code {@code APP_WIDTH} would have for {@code App.Width}.
+     */
+    private static int envHash(String key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            hash = 31 * hash + (c == '.' ? '_' : Character.toUpperCase(c));
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the first position at or after from that is not a space or tab.
+     * @param block The bytes holding the line.
+     * @param from The first position to look at.
+     * @param to The end of the line.
+     * @return The position of the first non-blank, or to.
+     */
+    private static int skipBlanks(byte[] block, int from, int to) {
+        while (from < to && (block[from] == ' ' || block[from] == '\t')) {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Returns the end of a range with trailing spaces and tabs removed.
+     * @param block The bytes holding the line.
+     * @param from The start of the range.
+     * @param to The end of the range.
+     * @return The new end of the range.
+     */
+    private static int trimBlanks(byte[] block, int from, int to) {
+        while (to > from && (block[to - 1] == ' ' || block[to - 1] == '\t')) {
+            to--;
+        }
+        return to;
+    }
+
+    /**
+     * Static proxy for getting the entry of a config value, with its cached parsed forms.
      * @param key The configuration key to retrieve.
-     * @return The configuration value as a string, or null if not found.
+     * @return The entry, or null if not found.
      */
-    private static String get(String key) {
+    private static Entry entry(String key) {
         return getInstance().getSetting(key);
     }
 
@@ -97,12 +1210,23 @@ public final class Config {
      * @return The configuration value as a string, or an empty string if not found.
      */
     public static String getString(String key) {
-        String value = get(key);
-        if (value == null) {
+        return stringValue(key, entry(key));
+    }
+
+    /**
+     * Returns the text of an entry.
+     * @param key The configuration key, for error messages.
+     * @param entry The entry, or null if the key is unknown.
+     * @return The text, or an empty string if not found.
+     */
+    static String stringValue(String key, Entry entry) {
+        if (entry == null) {
+            ConfigStats.miss(key);
             debug(key, "null", "String");
             return "";
         }
-        return value;
+        entry.hit();
+        return entry.text;
     }
 
     /**
@@ -111,46 +1235,110 @@ public final class Config {
      * @return The configuration value as an integer, or 0 if not found or invalid.
      */
     public static int getInt(String key) {
-        String value = get(key);
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException ex) {
-            debug(key, value, "int");
+        return intValue(key, entry(key));
+    }
+
+    /**
+     * Turns an entry into an int, parsing it only the first time.
+     * @param key The configuration key, for error messages.
+     * @param entry The entry, or null if the key is unknown.
+     * @return The value, or 0 if not found or invalid.
+     */
+    static int intValue(String key, Entry entry) {
+        if (entry == null) {
+            ConfigStats.miss(key);
+            debug(key, null, "int");
             return 0;
         }
+        entry.hit();
+        int parsed = entry.parsed;
+        if ((parsed & Entry.INT) != 0) return entry.intValue;
+        if ((parsed & (Entry.INT << Entry.FAILED)) == 0) {
+            if (ValueParser.parseInt(entry.text, entry)) {
+                entry.mark(Entry.INT);
+                return entry.intValue;
+            }
+            entry.mark(Entry.INT << Entry.FAILED);
+            debug(key, entry.text, "int");
+        }
+        entry.failed();
+        return 0;
+    }
+
+    /**
+     * Retrieves a configuration value as a long.
+     * @param key The configuration key to retrieve.
+     * @return The configuration value as a long, or 0 if not found or invalid.
+     */
+    public static long getLong(String key) {
+        return longValue(key, entry(key));
+    }
+
+    /**
+     * Turns an entry into a long, parsing it only the first time.
+     * @param key The configuration key, for error messages.
+     * @param entry The entry, or null if the key is unknown.
+     * @return The value, or 0L if not found or invalid.
+     */
+    static long longValue(String key, Entry entry) {
+        if (entry == null) {
+            ConfigStats.miss(key);
+            debug(key, null, "long");
+            return 0L;
+        }
+        entry.hit();
+        int parsed = entry.parsed;
+        if ((parsed & Entry.LONG) != 0) return entry.longValue;
+        if ((parsed & (Entry.LONG << Entry.FAILED)) == 0) {
+            if (ValueParser.parseLong(entry.text, entry)) {
+                entry.mark(Entry.LONG);
+                return entry.longValue;
+            }
+            entry.mark(Entry.LONG << Entry.FAILED);
+            debug(key, entry.text, "long");
+        }
+        entry.failed();
+        return 0L;
     }
 
     /**
      * Retrieves a configuration value as a boolean.
-     * Accepts "true" or "false" (case-insensitive). Returns false if invalid or missing.
+     * Accepts true/false, yes/no, on/off, enable(d)/disable(d), ja/nein, their first letters
+     * and digits (case-insensitive), see {@link ValueParser}. Returns false if invalid or missing.
      * 
      * @param key The configuration key to retrieve.
      * @return The configuration value as a boolean, or false if not found or invalid.
      */
     public static boolean getBoolean(String key) {
-        String value = get(key);
-        if (value == null) {
+        return booleanValue(key, entry(key));
+    }
+
+    /**
+     * Turns an entry into a boolean, parsing it only the first time.
+     * @param key The configuration key, for error messages.
+     * @param entry The entry, or null if the key is unknown.
+     * @return The value, or false if not found or invalid.
+     */
+    static boolean booleanValue(String key, Entry entry) {
+        if (entry == null) {
+            ConfigStats.miss(key);
             debug(key, "null", "boolean");
             return false;
         }
-
-        String normalized = value.trim().toLowerCase();
-
-        if (normalized.equals("true") || normalized.equals("yes") || normalized.equals("on") ||
-            normalized.equals("enable") || normalized.equals("enabled") || normalized.equals("ja") ||
-            normalized.equals("y") || normalized.equals("t") || normalized.equals("j") ||
-            normalized.matches("^[1-9]$")) {
-            return true;
-        }
-
-        if (normalized.equals("false") || normalized.equals("no") || normalized.equals("off") ||
-            normalized.equals("disable") || normalized.equals("disabled") || normalized.equals("nein") ||
-            normalized.equals("0") || normalized.equals("f") || normalized.equals("n") ||
-            normalized.matches("^-\\d+$")) {
-            return false;
+        entry.hit();
+        int parsed = entry.parsed;
+        if ((parsed & Entry.BOOLEAN) != 0) return entry.booleanValue;
+        if ((parsed & (Entry.BOOLEAN << Entry.FAILED)) == 0) {
+            int value = ValueParser.parseBoolean(entry.text);
+            if (value != ValueParser.INVALID) {
+                entry.booleanValue = value == ValueParser.TRUE;
+                entry.mark(Entry.BOOLEAN);
+                return entry.booleanValue;
+            }
+            entry.mark(Entry.BOOLEAN << Entry.FAILED);
+            debug(key, entry.text, "boolean");
         }
-
-        debug(key, value, "boolean");
+        entry.failed();
         return false;
     }
 
@@ -161,13 +1349,36 @@ public final class Config {
      * @return The configuration value as a float, or 0.0f if not found or invalid.
      */
     public static float getFloat(String key) {
-        String value = get(key);
-        try {
-            return Float.parseFloat(value);
-        } catch (NumberFormatException ex) {
-            debug(key, value, "float");
+        return floatValue(key, entry(key));
+    }
+
+    /**
+     * Turns an entry into a float, parsing it only the first time.
+     * @param key The configuration key, for error messages.
+     * @param entry The entry, or null if the key is unknown.
+     * @return The value, or 0.0f if not found or invalid.
+     */
+    static float floatValue(String key, Entry entry) {
+        if (entry == null) {
+            ConfigStats.miss(key);
+            debug(key, null, "float");
             return 0.0f;
         }
+        entry.hit();
+        int parsed = entry.parsed;
+        if ((parsed & Entry.FLOAT) != 0) return entry.floatValue;
+        if ((parsed & (Entry.FLOAT << Entry.FAILED)) == 0) {
+            try {
+                entry.floatValue = Float.parseFloat(entry.text);
+                entry.mark(Entry.FLOAT);
+                return entry.floatValue;
+            } catch (NumberFormatException ex) {
+                entry.mark(Entry.FLOAT << Entry.FAILED);
+                debug(key, entry.text, "float");
+            }
+        }
+        entry.failed();
+        return 0.0f;
     }
 
     /**
@@ -177,13 +1388,36 @@ public final class Config {
      * @return The configuration value as a double, or 0.0 if not found or invalid.
      */
     public static double getDouble(String key) {
-        String value = get(key);
-        try {
-            return Double.parseDouble(value);
-        } catch (NumberFormatException ex) {
-            debug(key, value, "double");
+        return doubleValue(key, entry(key));
+    }
+
+    /**
+     * Turns an entry into a double, parsing it only the first time.
+     * @param key The configuration key, for error messages.
+     * @param entry The entry, or null if the key is unknown.
+     * @return The value, or 0.0 if not found or invalid.
+     */
+    static double doubleValue(String key, Entry entry) {
+        if (entry == null) {
+            ConfigStats.miss(key);
+            debug(key, null, "double");
             return 0.0;
         }
+        entry.hit();
+        int parsed = entry.parsed;
+        if ((parsed & Entry.DOUBLE) != 0) return entry.doubleValue;
+        if ((parsed & (Entry.DOUBLE << Entry.FAILED)) == 0) {
+            try {
+                entry.doubleValue = Double.parseDouble(entry.text);
+                entry.mark(Entry.DOUBLE);
+                return entry.doubleValue;
+            } catch (NumberFormatException ex) {
+                entry.mark(Entry.DOUBLE << Entry.FAILED);
+                debug(key, entry.text, "double");
+            }
+        }
+        entry.failed();
+        return 0.0;
     }
 
     /**
@@ -193,30 +1427,65 @@ public final class Config {
      * @return The configuration value as a char, or '\0' if not found or invalid.
      */
     public static char getChar(String key) {
-        String value = get(key);
-        if (value == null || value.isEmpty()) {
-            debug(key, value, "char");
+        return charValue(key, entry(key));
+    }
+
+    /**
+     * Returns the first character of an entry.
+     * @param key The configuration key, for error messages.
+     * @param entry The entry, or null if the key is unknown.
+     * @return The character, or '\0' if not found or empty.
+     */
+    static char charValue(String key, Entry entry) {
+        if (entry == null) {
+            ConfigStats.miss(key);
+            debug(key, null, "char");
             return '\0';
         }
-        return value.charAt(0);
+        entry.hit();
+        if (entry.text.isEmpty()) {
+            entry.failed();
+            debug(key, entry.text, "char");
+            return '\0';
+        }
+        return entry.text.charAt(0);
     }
 
     /**
      * Instance method for getting a config value (not intended for direct use)
      * @param key The configuration key to retrieve.
-     * @return The configuration value as a string, or null if not found.
+     * @return The configuration entry, or null if not found.
      */
-    private String getSetting(String key) {
-        return settings.get(key);
+    private Entry getSetting(String key) {
+        return snapshot.get().map.get(key);
     }
 
     /**
-     * Instance method for setting a config value (not intended for direct use)
-     * @param key The configuration key to set.
-     * @param value The configuration value to set.
+     * Instance method for declaring a key with its default value (not intended for direct use).
+     * @param field The declaration of the key.
+     */
+    private void setSetting(ConfigSchema field) {
+        schema.put(field.getKey(), field);
+        defaults.put(field.getKey(), field.getDefault());
+    }
+
+    /**
+     * Logs debug information for problems with a configuration file. Also used by ConfigStats
+     * and ConfigCompiler.
+     * @param msg The message to display.
      */
-    private void setSetting(String key, String value) {
-        settings.put(key, value);
+    static void debug(String msg) {
+        String timestamp = java.time.LocalTime.now()
+            .truncatedTo(java.time.temporal.ChronoUnit.MILLIS)
+            .toString(); // e.g. 20:32:56.286
+
+        System.out.println(String.format(
+            "%s%s [Error] [Config] %s%s",
+            ANSI_RED,
+            timestamp,
+            msg,
+            ANSI_RESET
+        ));
     }
 
     /**
@@ -0,0 +1,308 @@
+/* ------------------------------------------------------------------------------------------------
+ * ConfigCompiler.java - The ConfigCompiler turns a key=value configuration file into a binary
+ * snapshot next to it (HelloJWorld.cfg becomes HelloJWorld.cfg.bin). The snapshot holds every
+ * distinct string once, and for every key its value already parsed into int, long, float, double
+ * and boolean, protected by a CRC32 checksum. Config.load() reads the snapshot instead of scanning
+ * the text file as long as the text file was not changed after it was compiled; the values are
+ * then ready to use without a single parse. A changed, missing or damaged snapshot simply means
+ * the text file is read as before; without the text file the snapshot isn't used either.
+ *
+ * Usage: java samael.chronicle.ConfigCompiler <config file>
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * Fri 2026-10-16 Snapshot read into the heap; stale once its source is gone.       Version: 00.02
+ * Fri 2026-10-16 Problems reported through Config.debug().                         Version: 00.03
+ * ------------------------------------------------------------------------------------------------ */
+package samael.chronicle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Command-line tool and runtime reader of precompiled configuration snapshots. The layout is
+ * a fixed header (magic, version, size and modification time of the source file, checksum and
+ * body length) followed by the body: the string table and one fixed-size record per key.
+ */
+public final class ConfigCompiler {
+
+    /** File extension appended to the configuration file name for its snapshot. */
+    public static final String EXTENSION = ".bin";
+
+    /** Marks a file as a configuration snapshot. */
+    private static final byte[] MAGIC = {'H', 'J', 'C', 'S'};
+
+    /**
+     * Version of the snapshot layout. Version 2: the parsed mask no longer carries failure bits,
+     * so version 1 snapshots are recompiled rather than trusted.
+     */
+    private static final byte VERSION = 2;
+
+    /** Header bytes: magic, version, source size, source time, checksum, body length. */
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 8 + 4 + 4;
+
+    /** Bytes of one key record: key, value, parsed mask, int, long, float, double, boolean. */
+    private static final int RECORD_SIZE = 4 + 4 + 4 + 4 + 8 + 4 + 8 + 1;
+
+    /** Static tool class, no instances. */
+    private ConfigCompiler() {
+    }
+
+    /**
+     * Entry point of the compiler tool.
+     * @param args The configuration file to compile.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: java samael.chronicle.ConfigCompiler <config file>");
+            return;
+        }
+
+        Path source = Paths.get(args[0]);
+        try {
+            int count = compile(source);
+            System.out.println("Compiled " + count + " key(s) into " + snapshotOf(source) + ".");
+        } catch (IOException ex) {
+            System.out.println("Failed to compile " + source + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns where the snapshot of a configuration file lives.
+     * @param source The configuration file.
+     * @return The snapshot file beside it.
+     */
+    public static Path snapshotOf(Path source) {
+        return source.resolveSibling(source.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Compiles a configuration file into its snapshot. The snapshot is written to a temporary
+     * file first and then moved over the old one, so a running application never reads a half
+     * written snapshot.
+     * @param source The configuration file.
+     * @return The number of keys compiled.
+     * @throws IOException If the configuration file can't be read or the snapshot can't be written.
+     */
+    public static int compile(Path source) throws IOException {
+        // Take the time stamp before reading, so an edit during compilation makes the snapshot stale.
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        Map<String, String> values = new LinkedHashMap<>();
+        if (!Config.readFile(source, values)) {
+            throw new NoSuchFileException(source.toString());
+        }
+
+        // String table: every key and every distinct value once.
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            strings.putIfAbsent(value.getKey(), strings.size());
+            strings.putIfAbsent(value.getValue(), strings.size());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + values.size() * (RECORD_SIZE + 32));
+        DataOutputStream body = new DataOutputStream(bytes);
+        body.writeInt(strings.size());
+        for (String string : strings.keySet()) {
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            body.writeInt(utf8.length);
+            body.write(utf8);
+        }
+        body.writeInt(values.size());
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            Config.Entry entry = new Config.Entry(value.getValue());
+            entry.parseAll();
+            body.writeInt(strings.get(value.getKey()));
+            body.writeInt(strings.get(value.getValue()));
+            body.writeInt(entry.parsed);
+            body.writeInt(entry.intValue);
+            body.writeLong(entry.longValue);
+            body.writeFloat(entry.floatValue);
+            body.writeDouble(entry.doubleValue);
+            body.writeBoolean(entry.booleanValue);
+        }
+        body.flush();
+        byte[] content = bytes.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+            .put(MAGIC)
+            .put(VERSION)
+            .putLong(attributes.size())
+            .putLong(attributes.lastModifiedTime().toMillis())
+            .putInt((int) crc.getValue())
+            .putInt(content.length)
+            .flip();
+
+        Path target = snapshotOf(source);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] buffers = {header, ByteBuffer.wrap(content)};
+            while (buffers[1].hasRemaining()) {
+                channel.write(buffers);
+            }
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return values.size();
+    }
+
+    /**
+     * Reads the snapshot of a configuration file, if there is a current one. The snapshot is
+     * read into the heap, checked against its checksum and decoded; the values come with their
+     * parsed forms already filled in. A snapshot is small and read once per load, so a plain
+     * read beats setting up and tearing down a mapping.
+     * @param source The configuration file.
+     * @param values Receives the keys and values.
+     * @return The pre-parsed entries by key, or null if there is no snapshot or no configuration
+     *         file, the snapshot is stale or damaged.
+     */
+    static Map<String, Config.Entry> read(Path source, Map<String, String> values) {
+        Path snapshot = snapshotOf(source);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) return damaged(snapshot);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (!readFully(channel, header)) return damaged(snapshot);
+            header.flip();
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || header.get() != VERSION) return damaged(snapshot);
+
+            // A missing configuration file throws NoSuchFileException: no file, no snapshot.
+            long sourceSize = header.getLong();
+            long sourceModified = header.getLong();
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            if (attributes.size() != sourceSize || attributes.lastModifiedTime().toMillis() != sourceModified) {
+                return null;                                                // Edited since it was compiled.
+            }
+
+            int crc = header.getInt();
+            int length = header.getInt();
+            if (length != size - HEADER_SIZE) return damaged(snapshot);
+
+            byte[] body = new byte[length];
+            if (!readFully(channel, ByteBuffer.wrap(body))) return damaged(snapshot);
+            CRC32 check = new CRC32();
+            check.update(body);
+            if ((int) check.getValue() != crc) return damaged(snapshot);
+
+            return decode(body, values);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException | RuntimeException ex) {
+            return damaged(snapshot);
+        }
+    }
+
+    /**
+     * Fills a buffer from the current position of a channel.
+     * @param channel The snapshot file.
+     * @param buffer The buffer to fill.
+     * @return false if the file ended first.
+     * @throws IOException If the file can't be read.
+     */
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the body of a verified snapshot. Every record is decoded before the first one is
+     * handed out, so a bad record leaves no traces in the maps.
+     * @param body The body of the snapshot.
+     * @param values Receives the keys and values.
+     * @return The pre-parsed entries, by key.
+     */
+    private static Map<String, Config.Entry> decode(byte[] body, Map<String, String> values) {
+        int pos = 0;
+        String[] strings = new String[getInt(body, pos)];
+        pos += 4;
+        for (int i = 0; i < strings.length; i++) {
+            int length = getInt(body, pos);
+            strings[i] = new String(body, pos + 4, length, StandardCharsets.UTF_8);
+            pos += 4 + length;
+        }
+
+        int count = getInt(body, pos);
+        pos += 4;
+        String[] keys = new String[count];
+        Config.Entry[] decoded = new Config.Entry[count];
+        for (int i = 0; i < count; i++, pos += RECORD_SIZE) {
+            keys[i] = strings[getInt(body, pos)];
+            Config.Entry entry = new Config.Entry(strings[getInt(body, pos + 4)]);
+            entry.intValue = getInt(body, pos + 12);
+            entry.longValue = getLong(body, pos + 16);
+            entry.floatValue = Float.intBitsToFloat(getInt(body, pos + 24));
+            entry.doubleValue = Double.longBitsToDouble(getLong(body, pos + 28));
+            entry.booleanValue = body[pos + 36] != 0;
+            entry.parsed = getInt(body, pos + 8);                           // Publishes the slots.
+            decoded[i] = entry;
+        }
+
+        Map<String, Config.Entry> entries = new HashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            values.put(keys[i], decoded[i].text);
+            entries.put(keys[i], decoded[i]);
+        }
+        return entries;
+    }
+
+    /**
+     * Reads a big-endian int, the byte order DataOutputStream wrote it in.
+     * @param bytes The bytes.
+     * @param pos The position of the first byte.
+     * @return The value.
+     */
+    private static int getInt(byte[] bytes, int pos) {
+        return (bytes[pos] & 0xFF) << 24 | (bytes[pos + 1] & 0xFF) << 16 | (bytes[pos + 2] & 0xFF) << 8 | bytes[pos + 3] & 0xFF;
+    }
+
+    /**
+     * Reads a big-endian long.
+     * @param bytes The bytes.
+     * @param pos The position of the first byte.
+     * @return The value.
+     */
+    private static long getLong(byte[] bytes, int pos) {
+        return (long) getInt(bytes, pos) << 32 | getInt(bytes, pos + 4) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Reports a snapshot that can't be used; the caller falls back to the text file.
+     * @param snapshot The snapshot file.
+     * @return Always null.
+     */
+    private static Map<String, Config.Entry> damaged(Path snapshot) {
+        Config.debug("Ignoring damaged config snapshot " + snapshot + ".");
+        return null;
+    }
+}
@@ -0,0 +1,199 @@
+/* ------------------------------------------------------------------------------------------------
+ * ConfigKey.java - A ConfigKey is a configuration key that has been resolved once, through
+ * Config.intKey("App.Width") and its siblings, into a slot index. Reading the value through the
+ * handle skips the String hashing and map lookup of Config.getInt("App.Width"): it is one array
+ * load from the current configuration snapshot, followed by the already cached parsed value. The
+ * typed subclasses return primitives, so nothing is boxed. Handles are cheap to keep in static
+ * final fields and follow file reloads and Config.set() like the regular getters.
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * ------------------------------------------------------------------------------------------------ */
+package samael.chronicle;
+
+/**
+ * Base class of the typed configuration key handles. Created by the factory methods of
+ * {@link Config}, e.g. {@code static final ConfigKey.IntKey WIDTH = Config.intKey("App.Width");}
+ */
+public abstract class ConfigKey {
+
+    /** The configuration key. */
+    final String key;
+
+    /** The slot of this key in every configuration snapshot. */
+    final int index;
+
+    /**
+     * Creates a handle.
+     * @param key The configuration key.
+     * @param index The slot index Config assigned to the key.
+     */
+    ConfigKey(String key, int index) {
+        this.key = key;
+        this.index = index;
+    }
+
+    /**
+     * Returns the configuration key this handle reads.
+     * @return The configuration key.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    /** Handle for int values. */
+    public static final class IntKey extends ConfigKey {
+
+        /**
+         * Creates the handle.
+         * @param key The configuration key.
+         * @param index The slot index.
+         */
+        IntKey(String key, int index) {
+            super(key, index);
+        }
+
+        /**
+         * Reads the current value.
+         * @return The value as an int, or 0 if not found or invalid.
+         */
+        public int get() {
+            return Config.intValue(key, Config.slot(index));
+        }
+    }
+
+    /** Handle for long values. */
+    public static final class LongKey extends ConfigKey {
+
+        /**
+         * Creates the handle.
+         * @param key The configuration key.
+         * @param index The slot index.
+         */
+        LongKey(String key, int index) {
+            super(key, index);
+        }
+
+        /**
+         * Reads the current value.
+         * @return The value as a long, or 0 if not found or invalid.
+         */
+        public long get() {
+            return Config.longValue(key, Config.slot(index));
+        }
+    }
+
+    /** Handle for float values. */
+    public static final class FloatKey extends ConfigKey {
+
+        /**
+         * Creates the handle.
+         * @param key The configuration key.
+         * @param index The slot index.
+         */
+        FloatKey(String key, int index) {
+            super(key, index);
+        }
+
+        /**
+         * Reads the current value.
+         * @return The value as a float, or 0.0f if not found or invalid.
+         */
+        public float get() {
+            return Config.floatValue(key, Config.slot(index));
+        }
+    }
+
+    /** Handle for double values. */
+    public static final class DoubleKey extends ConfigKey {
+
+        /**
+         * Creates the handle.
+         * @param key The configuration key.
+         * @param index The slot index.
+         */
+        DoubleKey(String key, int index) {
+            super(key, index);
+        }
+
+        /**
+         * Reads the current value.
+         * @return The value as a double, or 0.0 if not found or invalid.
+         */
+        public double get() {
+            return Config.doubleValue(key, Config.slot(index));
+        }
+    }
+
+    /** Handle for boolean values. */
+    public static final class BooleanKey extends ConfigKey {
+
+        /**
+         * Creates the handle.
+         * @param key The configuration key.
+         * @param index The slot index.
+         */
+        BooleanKey(String key, int index) {
+            super(key, index);
+        }
+
+        /**
+         * Reads the current value.
+         * @return The value as a boolean, or false if not found or invalid.
+         */
+        public boolean get() {
+            return Config.booleanValue(key, Config.slot(index));
+        }
+    }
+
+    /** Handle for char values. */
+    public static final class CharKey extends ConfigKey {
+
+        /**
+         * Creates the handle.
+         * @param key The configuration key.
+         * @param index The slot index.
+         */
+        CharKey(String key, int index) {
+            super(key, index);
+        }
+
+        /**
+         * Reads the current value.
+         * @return The first character of the value, or '\0' if not found or empty.
+         */
+        public char get() {
+            return Config.charValue(key, Config.slot(index));
+        }
+    }
+
+    /** Handle for String values. */
+    public static final class StringKey extends ConfigKey {
+
+        /**
+         * Creates the handle.
+         * @param key The configuration key.
+         * @param index The slot index.
+         */
+        StringKey(String key, int index) {
+            super(key, index);
+        }
+
+        /**
+         * Reads the current value.
+         * @return The value, or an empty string if not found.
+         */
+        public String get() {
+            return Config.stringValue(key, Config.slot(index));
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/* ------------------------------------------------------------------------------------------------
+ * ConfigSchema.java - A ConfigSchema declares one configuration key: its type, its typed
+ * default, the allowed range and a description. Config checks every declared key once when a
+ * snapshot is built, at startup, on load() and on every reload. A value that doesn't fit (no
+ * number, out of range) is reported once and replaced by the default, and a valid value is
+ * parsed into its typed slot right away. Later reads of a declared key therefore never parse
+ * and never hit an error path, and a bad App.Width no longer ends up as a zero-width window.
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * Fri 2026-10-16 Int and Long ranges kept as long, exact beyond 2^53.              Version: 00.02
+ * ------------------------------------------------------------------------------------------------ */
+package samael.chronicle;
+
+/**
+ * The declaration of one configuration key. Created by the typed factory methods, e.g.
+ * {@code ConfigSchema.ofInt("App.Width", 300, 1, 10000, "Width of the main window in pixels.")},
+ * and handed to {@link Config#define(ConfigSchema)}.
+ */
+public final class ConfigSchema {
+
+    /** The value types a key can be declared with. */
+    public enum Type {
+        String,
+        Int,
+        Long,
+        Float,
+        Double,
+        Boolean,
+        Char
+    }
+
+    /** The configuration key. */
+    private final String key;
+
+    /** The type of the value. */
+    private final Type type;
+
+    /** The default value, as text. */
+    private final String defaultValue;
+
+    /** The smallest allowed value of a numeric key. */
+    private final double min;
+
+    /** The largest allowed value of a numeric key. */
+    private final double max;
+
+    /** The smallest allowed value of an Int or Long key, exact where min is rounded. */
+    private final long longMin;
+
+    /** The largest allowed value of an Int or Long key, exact where max is rounded. */
+    private final long longMax;
+
+    /** What the key is for. */
+    private final String description;
+
+    /**
+     * Creates a declaration; use the typed factory methods.
+     * @param key The configuration key.
+     * @param type The type of the value.
+     * @param defaultValue The default value, as text.
+     * @param min The smallest allowed value of a numeric key.
+     * @param max The largest allowed value of a numeric key.
+     * @param description What the key is for.
+     */
+    private ConfigSchema(String key, Type type, String defaultValue, double min, double max, String description) {
+        this.key = key;
+        this.type = type;
+        this.defaultValue = defaultValue;
+        this.min = min;
+        this.max = max;
+        this.longMin = 0;
+        this.longMax = 0;
+        this.description = description;
+    }
+
+    /**
+     * Creates the declaration of an Int or Long key. Its range stays a pair of longs, because
+     * a double can't hold every long beyond 2^53 and would let values slip through the check.
+     * @param key The configuration key.
+     * @param type Int or Long.
+     * @param defaultValue The default value, as text.
+     * @param min The smallest allowed value.
+     * @param max The largest allowed value.
+     * @param description What the key is for.
+     */
+    private ConfigSchema(String key, Type type, String defaultValue, long min, long max, String description) {
+        this.key = key;
+        this.type = type;
+        this.defaultValue = defaultValue;
+        this.min = min;
+        this.max = max;
+        this.longMin = min;
+        this.longMax = max;
+        this.description = description;
+    }
+
+    /**
+     * Declares a String key.
+     * @param key The configuration key.
+     * @param defaultValue The default value.
+     * @param description What the key is for.
+     * @return The declaration.
+     */
+    public static ConfigSchema ofString(String key, String defaultValue, String description) {
+        return new ConfigSchema(key, Type.String, defaultValue, 0, 0, description);
+    }
+
+    /**
+     * Declares an int key with a range.
+     * @param key The configuration key.
+     * @param defaultValue The default value.
+     * @param min The smallest allowed value.
+     * @param max The largest allowed value.
+     * @param description What the key is for.
+     * @return The declaration.
+     */
+    public static ConfigSchema ofInt(String key, int defaultValue, int min, int max, String description) {
+        return new ConfigSchema(key, Type.Int, Integer.toString(defaultValue), (long) min, (long) max, description);
+    }
+
+    /**
+     * Declares a long key with a range.
+     * @param key The configuration key.
+     * @param defaultValue The default value.
+     * @param min The smallest allowed value.
+     * @param max The largest allowed value.
+     * @param description What the key is for.
+     * @return The declaration.
+     */
+    public static ConfigSchema ofLong(String key, long defaultValue, long min, long max, String description) {
+        return new ConfigSchema(key, Type.Long, Long.toString(defaultValue), min, max, description);
+    }
+
+    /**
+     * Declares a float key with a range.
+     * @param key The configuration key.
+     * @param defaultValue The default value.
+     * @param min The smallest allowed value.
+     * @param max The largest allowed value.
+     * @param description What the key is for.
+     * @return The declaration.
+     */
+    public static ConfigSchema ofFloat(String key, float defaultValue, float min, float max, String description) {
+        return new ConfigSchema(key, Type.Float, Float.toString(defaultValue), min, max, description);
+    }
+
+    /**
+     * Declares a double key with a range.
+     * @param key The configuration key.
+     * @param defaultValue The default value.
+     * @param min The smallest allowed value.
+     * @param max The largest allowed value.
+     * @param description What the key is for.
+     * @return The declaration.
+     */
+    public static ConfigSchema ofDouble(String key, double defaultValue, double min, double max, String description) {
+        return new ConfigSchema(key, Type.Double, Double.toString(defaultValue), min, max, description);
+    }
+
+    /**
+     * Declares a boolean key.
+     * @param key The configuration key.
+     * @param defaultValue The default value.
+     * @param description What the key is for.
+     * @return The declaration.
+     */
+    public static ConfigSchema ofBoolean(String key, boolean defaultValue, String description) {
+        return new ConfigSchema(key, Type.Boolean, Boolean.toString(defaultValue), 0, 0, description);
+    }
+
+    /**
+     * Declares a char key.
+     * @param key The configuration key.
+     * @param defaultValue The default value.
+     * @param description What the key is for.
+     * @return The declaration.
+     */
+    public static ConfigSchema ofChar(String key, char defaultValue, String description) {
+        return new ConfigSchema(key, Type.Char, String.valueOf(defaultValue), 0, 0, description);
+    }
+
+    /**
+     * Returns the configuration key.
+     * @return The key.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the declared type.
+     * @return The type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the default value as text, the way it would be written in a config file.
+     * @return The default value.
+     */
+    public String getDefault() {
+        return defaultValue;
+    }
+
+    /**
+     * Returns the smallest allowed value; only meaningful for numeric keys. For a Long key
+     * beyond 2^53 this is rounded; the check itself uses the exact bound.
+     * @return The minimum.
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the largest allowed value; only meaningful for numeric keys. For a Long key
+     * beyond 2^53 this is rounded; the check itself uses the exact bound.
+     * @return The maximum.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Returns what the key is for.
+     * @return The description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return switch (type) {
+            case String, Boolean, Char -> key + " (" + type + ", default '" + defaultValue + "'): " + description;
+            case Int, Long -> key + " (" + type + " " + longMin + ".." + longMax + ", default " + defaultValue + "): " + description;
+            default -> key + " (" + type + " " + format(min) + ".." + format(max) + ", default " + defaultValue + "): " + description;
+        };
+    }
+
+    /**
+     * Checks a value against the declaration by parsing it into the typed slot of its entry.
+     * @param entry The entry holding the value; its slot of the declared type is filled when valid.
+     * @return null if the value is valid, otherwise the reason why not.
+     */
+    String check(Config.Entry entry) {
+        String text = entry.text;
+        double value;
+        switch (type) {
+            case String:
+                return null;
+            case Char:
+                return text.isEmpty() ? "is empty" : null;
+            case Boolean:
+                int bool = ValueParser.parseBoolean(text);
+                if (bool == ValueParser.INVALID) return "is no boolean";
+                entry.booleanValue = bool == ValueParser.TRUE;
+                entry.mark(Config.Entry.BOOLEAN);
+                return null;
+            case Int:
+                if (!ValueParser.parseInt(text, entry)) return "is no int";
+                if (entry.intValue < longMin || entry.intValue > longMax) return "is outside " + longMin + ".." + longMax;
+                entry.mark(Config.Entry.INT);
+                return null;
+            case Long:
+                if (!ValueParser.parseLong(text, entry)) return "is no long";
+                if (entry.longValue < longMin || entry.longValue > longMax) return "is outside " + longMin + ".." + longMax;
+                entry.mark(Config.Entry.LONG);
+                return null;
+            case Float:
+                try {
+                    entry.floatValue = Float.parseFloat(text);
+                } catch (NumberFormatException ex) {
+                    return "is no float";
+                }
+                value = entry.floatValue;
+                break;
+            default:
+                try {
+                    entry.doubleValue = Double.parseDouble(text);
+                } catch (NumberFormatException ex) {
+                    return "is no double";
+                }
+                value = entry.doubleValue;
+                break;
+        }
+        if (!(value >= min && value <= max)) return "is outside " + format(min) + ".." + format(max);
+
+        entry.mark(type == Type.Float ? Config.Entry.FLOAT : Config.Entry.DOUBLE);
+        return null;
+    }
+
+    /**
+     * Formats a range bound without a useless ".0".
+     * @param bound The bound.
+     * @return The bound as text.
+     */
+    private static String format(double bound) {
+        return bound == Math.rint(bound) && Math.abs(bound) < 1e15 ? Long.toString((long) bound) : Double.toString(bound);
+    }
+}
@@ -0,0 +1,268 @@
+/* ------------------------------------------------------------------------------------------------
+ * ConfigStats.java - ConfigStats counts how the configuration is used: per key how often its
+ * value was read, how often it was asked for without existing, and how often its value failed
+ * to convert into the requested type. The counters are LongAdders, so threads reading the same
+ * key don't fight over one memory location, and every Entry carries the counters of its key, so
+ * counting a read costs no extra map lookup. Hot keys tell where caching matters; missing and
+ * failing keys point at a misconfigured deployment. Keys asked for without existing get counters
+ * of their own only up to a limit; beyond it they are counted together under (other), so a
+ * caller building key names can't grow the table without bound. The numbers are available
+ * through JMX (registerMBean()) and as a plain text table (dump()).
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * Fri 2026-10-16 Missing keys capped, beyond the cap counted under (other).        Version: 00.02
+ * Fri 2026-10-16 The cap counts missing keys only, not the keys of the file.       Version: 00.03
+ * ------------------------------------------------------------------------------------------------ */
+package samael.chronicle;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Per-key access counters of {@link Config}, exposed as the MBean
+ * {@code samael.chronicle:type=ConfigStats}.
+ */
+public final class ConfigStats implements ConfigStatsMBean {
+
+    /** The JMX name the counters are registered under. */
+    public static final String OBJECT_NAME = "samael.chronicle:type=ConfigStats";
+
+    /** Number of keys getHotKeys() returns. */
+    private static final int HOT_KEYS = 10;
+
+    /** Number of missing keys with counters of their own before further ones go to OTHER. */
+    private static final int MAX_MISSING_KEYS = 1024;
+
+    /** The key missing keys beyond MAX_MISSING_KEYS are counted under. */
+    static final String OTHER = "(other)";
+
+    /** The only instance; the MBean server needs an object, Config only the static methods. */
+    private static final ConfigStats INSTANCE = new ConfigStats();
+
+    /** Whether accesses are counted. */
+    static volatile boolean enabled = true;
+
+    /** The counters by key. */
+    private static final ConcurrentHashMap<String, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Number of counters miss() created for keys that had none. Only these are capped; the
+     * counters of the real keys, however many a deployment ships, don't use up the limit.
+     */
+    private static final AtomicInteger MISSING_KEYS = new AtomicInteger();
+
+    /** The counters of one key. */
+    static final class Counters {
+
+        /** The configuration key. */
+        final String key;
+
+        /** Reads of the key, misses included. */
+        final LongAdder lookups = new LongAdder();
+
+        /** Reads of the key while it didn't exist. */
+        final LongAdder misses = new LongAdder();
+
+        /** Reads whose value didn't convert into the requested type. */
+        final LongAdder failures = new LongAdder();
+
+        /**
+         * Creates zeroed counters.
+         * @param key The configuration key.
+         */
+        Counters(String key) {
+            this.key = key;
+        }
+    }
+
+    /** Only the one instance. */
+    private ConfigStats() {
+    }
+
+    /**
+     * Returns the instance that is registered with JMX.
+     * @return The MBean.
+     */
+    public static ConfigStats getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the counters with the platform MBean server. Registering twice has no effect.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException ex) {
+            Config.debug("Failed to register " + OBJECT_NAME + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes the counter table to a stream.
+     * @param out The stream to write to, e.g. System.out.
+     */
+    public static void dump(PrintStream out) {
+        out.print(INSTANCE.dump());
+        out.flush();
+    }
+
+    /**
+     * Returns the counters of a key, creating them on first use.
+     * @param key The configuration key.
+     * @return The counters.
+     */
+    static Counters counters(String key) {
+        Counters counters = COUNTERS.get(key);
+        return counters != null ? counters : COUNTERS.computeIfAbsent(key, Counters::new);
+    }
+
+    /**
+     * Counts a read of a key that doesn't exist. Once MAX_MISSING_KEYS missing keys have
+     * counters, a further key without counters is counted under OTHER.
+     * @param key The configuration key.
+     */
+    static void miss(String key) {
+        if (!enabled) return;
+
+        Counters counters = COUNTERS.get(key);
+        if (counters == null) {
+            counters = MISSING_KEYS.get() < MAX_MISSING_KEYS
+                ? COUNTERS.computeIfAbsent(key, ConfigStats::missingCounters)
+                : counters(OTHER);
+        }
+        counters.lookups.increment();
+        counters.misses.increment();
+    }
+
+    /**
+     * Creates the counters of a key that miss() saw first, and counts them against the cap.
+     * @param key The configuration key.
+     * @return The zeroed counters.
+     */
+    private static Counters missingCounters(String key) {
+        MISSING_KEYS.incrementAndGet();
+        return new Counters(key);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabledIn) {
+        enabled = enabledIn;
+    }
+
+    @Override
+    public long getLookupCount() {
+        return total(counters -> counters.lookups);
+    }
+
+    @Override
+    public long getMissCount() {
+        return total(counters -> counters.misses);
+    }
+
+    @Override
+    public long getFailureCount() {
+        return total(counters -> counters.failures);
+    }
+
+    @Override
+    public String[] getHotKeys() {
+        return top(counters -> counters.lookups, HOT_KEYS);
+    }
+
+    @Override
+    public String[] getMissingKeys() {
+        return top(counters -> counters.misses, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String[] getFailingKeys() {
+        return top(counters -> counters.failures, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String dump() {
+        List<Counters> all = new ArrayList<>(COUNTERS.values());
+        all.sort(Comparator.comparingLong((Counters counters) -> counters.lookups.sum()).reversed());
+        int width = 3;
+        for (Counters counters : all) {
+            width = Math.max(width, counters.key.length());
+        }
+
+        StringBuilder table = new StringBuilder(64 * (all.size() + 2));
+        String row = "%-" + width + "s %12s %10s %10s%n";
+        table.append(String.format(row, "Key", "Lookups", "Misses", "Failures"));
+        for (Counters counters : all) {
+            table.append(String.format(row, counters.key, counters.lookups.sum(), counters.misses.sum(), counters.failures.sum()));
+        }
+        table.append(String.format(row, "Total", getLookupCount(), getMissCount(), getFailureCount()));
+        return table.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (Counters counters : COUNTERS.values()) {
+            counters.lookups.reset();
+            counters.misses.reset();
+            counters.failures.reset();
+        }
+    }
+
+    /**
+     * Sums one counter over all keys.
+     * @param counter Picks the counter.
+     * @return The sum.
+     */
+    private static long total(Function<Counters, LongAdder> counter) {
+        long sum = 0;
+        for (Counters counters : COUNTERS.values()) {
+            sum += counter.apply(counters).sum();
+        }
+        return sum;
+    }
+
+    /**
+     * Lists the keys with the highest non-zero values of one counter.
+     * @param counter Picks the counter.
+     * @param limit The maximum number of keys.
+     * @return Lines of the form {@code key=count}, highest first.
+     */
+    private static String[] top(Function<Counters, LongAdder> counter, int limit) {
+        List<Counters> all = new ArrayList<>();
+        for (Counters counters : COUNTERS.values()) {
+            if (counter.apply(counters).sum() > 0) {
+                all.add(counters);
+            }
+        }
+        all.sort(Comparator.comparingLong((Counters counters) -> counter.apply(counters).sum()).reversed());
+        String[] lines = new String[Math.min(limit, all.size())];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = all.get(i).key + "=" + counter.apply(all.get(i)).sum();
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,77 @@
+/* ------------------------------------------------------------------------------------------------
+ * ConfigStatsMBean.java - The management interface of ConfigStats. JConsole, VisualVM or any
+ * other JMX client shows it under samael.chronicle:type=ConfigStats once
+ * ConfigStats.registerMBean() was called: the total lookup, miss and failure counts, the hottest
+ * keys, the keys that were asked for but don't exist and the keys whose value didn't convert.
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * ------------------------------------------------------------------------------------------------ */
+package samael.chronicle;
+
+/**
+ * Standard MBean interface of the configuration access counters.
+ */
+public interface ConfigStatsMBean {
+
+    /**
+     * Tells whether accesses are counted.
+     * @return true if counting is on.
+     */
+    boolean isEnabled();
+
+    /**
+     * Switches counting on or off.
+     * @param enabled true to count accesses.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns the number of value lookups, misses included, over all keys.
+     * @return The lookup count.
+     */
+    long getLookupCount();
+
+    /**
+     * Returns the number of lookups of keys that don't exist.
+     * @return The miss count.
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of values that could not be converted into the requested type.
+     * @return The failure count.
+     */
+    long getFailureCount();
+
+    /**
+     * Returns the most often read keys with their lookup counts, most often read first.
+     * @return Lines of the form {@code key=count}.
+     */
+    String[] getHotKeys();
+
+    /**
+     * Returns the keys that were looked up but don't exist, with their miss counts.
+     * @return Lines of the form {@code key=count}.
+     */
+    String[] getMissingKeys();
+
+    /**
+     * Returns the keys whose value failed to convert, with their failure counts.
+     * @return Lines of the form {@code key=count}.
+     */
+    String[] getFailingKeys();
+
+    /**
+     * Renders all counters as a table.
+     * @return The table, one key per line.
+     */
+    String dump();
+
+    /** Sets all counters back to zero. */
+    void reset();
+}
@@ -0,0 +1,266 @@
+/* ------------------------------------------------------------------------------------------------
+ * ConfigView.java - A ConfigView is a scoped window on the configuration, created through
+ * Config.view("App.Label"). It finds its node in the prefix trie of the current snapshot once
+ * and remembers it until the configuration changes; reading a child such as "Text" is then one
+ * lookup of that segment, without building "App.Label.Text" first. A component can also walk its
+ * whole subtree in one pass, which makes reading all of its settings at once cheap.
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * ------------------------------------------------------------------------------------------------ */
+package samael.chronicle;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Scoped view of all configuration keys below a prefix. Child names are relative to the
+ * prefix; a child name may contain dots itself ("Label.Text" on a view of "App").
+ */
+public final class ConfigView {
+
+    /** The prefix of the view, e.g. App.Label; empty for the whole configuration. */
+    private final String prefix;
+
+    /** The segments of the prefix, the path from the trie root to the node of the view. */
+    private final String[] path;
+
+    /** The trie root the node was found in, and the node; replaced when the root changes. */
+    private volatile Resolved resolved;
+
+    /** A trie root together with the node of the view in it (null if the prefix is unknown). */
+    private static final class Resolved {
+
+        /** The trie root. */
+        final Config.Node root;
+
+        /** The node of the view, or null. */
+        final Config.Node node;
+
+        /**
+         * Creates the pair.
+         * @param root The trie root.
+         * @param node The node of the view in that trie, or null.
+         */
+        Resolved(Config.Node root, Config.Node node) {
+            this.root = root;
+            this.node = node;
+        }
+    }
+
+    /**
+     * Creates a view; use Config.view().
+     * @param prefix The dotted key prefix.
+     */
+    ConfigView(String prefix) {
+        this.prefix = prefix;
+        this.path = prefix.isEmpty() ? new String[0] : prefix.split("\\.", -1);
+    }
+
+    /**
+     * Returns the prefix of this view.
+     * @return The prefix, e.g. App.Label.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Returns a view of a subtree of this view.
+     * @param child The child name, relative to this view.
+     * @return The view.
+     */
+    public ConfigView view(String child) {
+        return new ConfigView(prefix.isEmpty() ? child : prefix + "." + child);
+    }
+
+    /**
+     * Tells whether a child has a value.
+     * @param child The child name, relative to this view.
+     * @return true if the key exists.
+     */
+    public boolean contains(String child) {
+        return entryOf(child(child)) != null;
+    }
+
+    /**
+     * Retrieves a child value as a string.
+     * @param child The child name, relative to this view.
+     * @return The value, or an empty string if not found.
+     */
+    public String getString(String child) {
+        Config.Node node = child(child);
+        return Config.stringValue(keyOf(node, child), entryOf(node));
+    }
+
+    /**
+     * Retrieves a child value as an integer.
+     * @param child The child name, relative to this view.
+     * @return The value, or 0 if not found or invalid.
+     */
+    public int getInt(String child) {
+        Config.Node node = child(child);
+        return Config.intValue(keyOf(node, child), entryOf(node));
+    }
+
+    /**
+     * Retrieves a child value as a long.
+     * @param child The child name, relative to this view.
+     * @return The value, or 0 if not found or invalid.
+     */
+    public long getLong(String child) {
+        Config.Node node = child(child);
+        return Config.longValue(keyOf(node, child), entryOf(node));
+    }
+
+    /**
+     * Retrieves a child value as a float.
+     * @param child The child name, relative to this view.
+     * @return The value, or 0.0f if not found or invalid.
+     */
+    public float getFloat(String child) {
+        Config.Node node = child(child);
+        return Config.floatValue(keyOf(node, child), entryOf(node));
+    }
+
+    /**
+     * Retrieves a child value as a double.
+     * @param child The child name, relative to this view.
+     * @return The value, or 0.0 if not found or invalid.
+     */
+    public double getDouble(String child) {
+        Config.Node node = child(child);
+        return Config.doubleValue(keyOf(node, child), entryOf(node));
+    }
+
+    /**
+     * Retrieves a child value as a boolean.
+     * @param child The child name, relative to this view.
+     * @return The value, or false if not found or invalid.
+     */
+    public boolean getBoolean(String child) {
+        Config.Node node = child(child);
+        return Config.booleanValue(keyOf(node, child), entryOf(node));
+    }
+
+    /**
+     * Retrieves a child value as a char.
+     * @param child The child name, relative to this view.
+     * @return The first character of the value, or '\0' if not found or empty.
+     */
+    public char getChar(String child) {
+        Config.Node node = child(child);
+        return Config.charValue(keyOf(node, child), entryOf(node));
+    }
+
+    /**
+     * Walks the subtree of this view in one pass and hands every key and value to the action,
+     * the value of the prefix itself included. All of them come from the same snapshot.
+     * @param action Called with the full key and the value.
+     */
+    public void forEach(BiConsumer<String, String> action) {
+        Config.Node node = node();
+        if (node != null) {
+            walk(node, action);
+        }
+    }
+
+    /**
+     * Copies the subtree of this view into a map.
+     * @return The full keys and values below the prefix.
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> values = new HashMap<>();
+        forEach(values::put);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return prefix;
+    }
+
+    /**
+     * Walks a subtree depth first.
+     * @param node The root of the subtree.
+     * @param action Called with the full key and the value of every node that has a value.
+     */
+    private static void walk(Config.Node node, BiConsumer<String, String> action) {
+        if (node.entry != null) {
+            action.accept(node.key, node.entry.text);
+        }
+        for (Config.Node child : node.children.values()) {
+            walk(child, action);
+        }
+    }
+
+    /**
+     * Returns the node of this view in the current trie, walking the prefix only when the
+     * configuration changed since the last call.
+     * @return The node, or null if no key starts with the prefix.
+     */
+    private Config.Node node() {
+        Config.Node root = Config.root();
+        Resolved current = resolved;
+        if (current == null || current.root != root) {
+            Config.Node node = root;
+            for (int i = 0; i < path.length && node != null; i++) {
+                node = node.children.get(path[i]);
+            }
+            current = new Resolved(root, node);
+            resolved = current;
+        }
+        return current.node;
+    }
+
+    /**
+     * Finds the child node of a child name.
+     * @param child The child name, a single segment or several separated by dots.
+     * @return The child node, or null.
+     */
+    private Config.Node child(String child) {
+        Config.Node node = node();
+        if (node == null) return null;
+        if (child.indexOf('.') < 0) return node.children.get(child);
+
+        for (String segment : child.split("\\.", -1)) {
+            node = node.children.get(segment);
+            if (node == null) return null;
+        }
+        return node;
+    }
+
+    /**
+     * Returns the entry of a child node.
+     * @param node The child node, or null.
+     * @return The entry, or null if the child has no value.
+     */
+    private static Config.Entry entryOf(Config.Node node) {
+        return node != null ? node.entry : null;
+    }
+
+    /**
+     * Returns the full key of a child, for error messages. An existing node knows it; only
+     * for a missing one it has to be built.
+     * @param node The child node, or null.
+     * @param child The child name.
+     * @return The full key.
+     */
+    private String keyOf(Config.Node node, String child) {
+        return node != null ? node.key : key(child);
+    }
+
+    /**
+     * Builds the full key of a child; only needed for the error message of a missing key.
+     * @param child The child name.
+     * @return The full key.
+     */
+    private String key(String child) {
+        return prefix.isEmpty() ? child : prefix + "." + child;
+    }
+}
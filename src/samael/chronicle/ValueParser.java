@@ -0,0 +1,173 @@
+/* ------------------------------------------------------------------------------------------------
+ * ValueParser.java - The ValueParser turns configuration texts into booleans and integers in a
+ * single pass over the characters. It doesn't lowercase, trim or copy the text, compiles no
+ * regular expressions and throws no exceptions for invalid input, so a parse allocates nothing.
+ * The boolean vocabulary is the one Config has always understood: true, yes, on, enable(d), ja,
+ * y, t, j and the digits 1 to 9 are true; false, no, off, disable(d), nein, f, n, 0 and negative
+ * numbers are false. Integers follow Integer.parseInt() and Long.parseLong() to the letter.
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * Fri 2026-10-16 Boolean words compared with ASCII case folding only.              Version: 00.02
+ * ------------------------------------------------------------------------------------------------ */
+package samael.chronicle;
+
+/**
+ * Allocation-free parsers for the typed getters of {@link Config}.
+ */
+final class ValueParser {
+
+    /** parseBoolean() result for a text that means false. */
+    static final int FALSE = 0;
+
+    /** parseBoolean() result for a text that means true. */
+    static final int TRUE = 1;
+
+    /** parseBoolean() result for a text that is no boolean at all. */
+    static final int INVALID = -1;
+
+    /** The words that mean true, compared ignoring ASCII case. */
+    private static final String[] TRUE_WORDS = {"true", "yes", "on", "enable", "enabled", "ja", "y", "t", "j"};
+
+    /** The words that mean false, compared ignoring ASCII case. */
+    private static final String[] FALSE_WORDS = {"false", "no", "off", "disable", "disabled", "nein", "f", "n"};
+
+    /** Returned by accumulate() for a text that is no integer or out of range; valid results are never positive. */
+    private static final long FAILED = 1;
+
+    /** Static utility, no instances. */
+    private ValueParser() {
+    }
+
+    /**
+     * Turns a text into a boolean. Leading and trailing whitespace is ignored.
+     * @param text The text to parse.
+     * @return TRUE, FALSE or INVALID if the text is not a known boolean word.
+     */
+    static int parseBoolean(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0) return INVALID;
+
+        char first = text.charAt(start);
+        if (length == 1 && first >= '0' && first <= '9') {
+            return first == '0' ? FALSE : TRUE;
+        }
+        if (first == '-') {
+            for (int i = start + 1; i < end; i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') return INVALID;
+            }
+            return length > 1 ? FALSE : INVALID;
+        }
+        if (matches(text, start, length, TRUE_WORDS)) return TRUE;
+        if (matches(text, start, length, FALSE_WORDS)) return FALSE;
+        return INVALID;
+    }
+
+    /**
+     * Parses a text the way Integer.parseInt() does and stores the result in the int slot of
+     * an entry.
+     * @param text The text to parse.
+     * @param entry Receives the value in its int slot.
+     * @return true if the text is an int, false otherwise; the slot is left alone then.
+     */
+    static boolean parseInt(String text, Config.Entry entry) {
+        if (text.isEmpty()) return false;
+
+        boolean negative = text.charAt(0) == '-';
+        long result = accumulate(text, negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE);
+        if (result == FAILED) return false;
+
+        entry.intValue = (int) (negative ? result : -result);
+        return true;
+    }
+
+    /**
+     * Parses a text the way Long.parseLong() does and stores the result in the long slot of
+     * an entry.
+     * @param text The text to parse.
+     * @param entry Receives the value in its long slot.
+     * @return true if the text is a long, false otherwise; the slot is left alone then.
+     */
+    static boolean parseLong(String text, Config.Entry entry) {
+        if (text.isEmpty()) return false;
+
+        boolean negative = text.charAt(0) == '-';
+        long result = accumulate(text, negative ? Long.MIN_VALUE : -Long.MAX_VALUE);
+        if (result == FAILED) return false;
+
+        entry.longValue = negative ? result : -result;
+        return true;
+    }
+
+    /**
+     * Accumulates the digits of a decimal integer as a negative number, which can hold the
+     * magnitude of the smallest value of the type. Overflow is detected before it happens.
+     * @param text The text, not empty, with an optional sign in front of the digits.
+     * @param limit The most negative result allowed.
+     * @return The negated magnitude of the number, or FAILED.
+     */
+    private static long accumulate(String text, long limit) {
+        int length = text.length();
+        int i = 0;
+        char first = text.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) return FAILED;
+            i = 1;
+        }
+
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            int digit = c >= '0' && c <= '9' ? c - '0' : Character.digit(c, 10);
+            if (digit < 0 || result < multiplyLimit) return FAILED;
+
+            result *= 10;
+            if (result < limit + digit) return FAILED;
+            result -= digit;
+        }
+        return result;
+    }
+
+    /**
+     * Tells whether a section of a text equals one of the words, ignoring ASCII case only. Only
+     * A to Z are folded, so look-alikes such as the dotless i or the long s, which
+     * regionMatches(true, ...) would accept, are no boolean words, just like with the
+     * toLowerCase() comparison Config used before.
+     * @param text The text.
+     * @param start The start of the section.
+     * @param length The length of the section.
+     * @param words The words to compare with, in lower case.
+     * @return true if one of the words matches.
+     */
+    private static boolean matches(String text, int start, int length, String[] words) {
+        for (String word : words) {
+            if (word.length() != length) continue;
+
+            int i = 0;
+            while (i < length) {
+                char c = text.charAt(start + i);
+                if (c >= 'A' && c <= 'Z') {
+                    c |= 0x20;
+                }
+                if (c != word.charAt(i)) break;
+                i++;
+            }
+            if (i == length) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,263 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/AsyncLogWriter.java
+// This file is part of the Samael.HuginAndMunin library. The AsyncLogWriter takes log lines from the
+// calling thread, parks them on a bounded queue and lets one background thread drain the queue in
+// batches into the real writer. The caller (very often the Swing EDT) only pays for a queue offer.
+// What happens when the queue is full is decided by the overflow policy: wait, drop the oldest
+// queued line or drop the new line. Dropped lines are counted, so nothing disappears silently.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 The background thread can be named, for the console writer.           Version: 00.02
+// Fri 2026-10-16 No write can race close(); the worker closes the target when done.    Version: 00.03
+// Fri 2026-10-16 write() returns false once closed instead of counting a drop.         Version: 00.04
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Asynchronous front end for another {@link LogWriter}. Any number of threads may call
+ * {@link #write(CharSequence)}; the wrapped writer is only ever touched by the single
+ * background thread, so it doesn't need to be thread safe.
+ */
+final class AsyncLogWriter implements LogWriter {
+
+    /** Maximum number of lines handed to the target writer before it gets flushed. */
+    private static final int BATCH_SIZE = 256;
+
+    /** How long the background thread waits for new lines before checking the running flag. */
+    private static final long POLL_MILLIS = 100;
+
+    /** How long close() waits for the background thread to drain the queue. */
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+    /** The bounded hand-over queue between callers and the background thread. */
+    private final BlockingQueue<String> queue;
+
+    /** The writer that actually persists the lines. Only used by the background thread. */
+    private final LogWriter target;
+
+    /** What to do when the queue is full. */
+    private final Log.OverflowPolicy policy;
+
+    /** Number of lines that were dropped because of a full queue. */
+    private final LongAdder dropped = new LongAdder();
+
+    /** Number of lines accepted into the queue. */
+    private final AtomicLong accepted = new AtomicLong();
+
+    /** Number of lines the background thread has handed to the target and flushed. */
+    private final AtomicLong written = new AtomicLong();
+
+    /** The background thread draining the queue. */
+    private final Thread worker;
+
+    /** Cleared by close(); from then on new lines are dropped instead of queued. */
+    private volatile boolean running = true;
+
+    /**
+     * Set by close() once no write is in flight any more, so nothing can be queued after it.
+     * The background thread then drains what's left, closes the target and stops.
+     */
+    private volatile boolean sealed = false;
+
+    /**
+     * Writers hold the read lock from the running check to the end of their enqueue; close()
+     * takes the write lock to wait for them before sealing the queue.
+     */
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+
+    /**
+     * Creates the asynchronous writer and starts its background thread.
+     *
+     * @param target the writer that receives the batched lines
+     * @param capacity maximum number of lines waiting in the queue
+     * @param policy what to do when the queue is full
+     */
+    AsyncLogWriter(LogWriter target, int capacity, Log.OverflowPolicy policy) {
+        this(target, capacity, policy, "HuginAndMunin-LogWriter");
+    }
+
+    /**
+     * Creates the asynchronous writer and starts its background thread under the given name.
+     *
+     * @param target the writer that receives the batched lines
+     * @param capacity maximum number of lines waiting in the queue
+     * @param policy what to do when the queue is full
+     * @param threadName the name of the background thread
+     */
+    AsyncLogWriter(LogWriter target, int capacity, Log.OverflowPolicy policy, String threadName) {
+        this.target = target;
+        this.policy = policy;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues a line. A line the overflow policy drops is counted and still reported as taken;
+     * only a line that arrives after close() (or while close() runs) is refused.
+     */
+    @Override
+    public boolean write(CharSequence line) {
+        String record = line.toString();
+        gate.readLock().lock();
+        try {
+            if (enqueue(record)) {
+                accepted.incrementAndGet();
+                return true;
+            }
+            if (!running) {
+                return false;                       // Closed; the caller writes the line itself.
+            }
+            dropped.increment();
+            return true;
+        } finally {
+            gate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Puts a line on the queue according to the overflow policy. Called under the read lock.
+     *
+     * @param record the line
+     * @return true if the line was queued, false if it was dropped or the writer is closed
+     */
+    private boolean enqueue(String record) {
+        if (!running) {
+            return false;
+        }
+
+        switch (policy) {
+            case Block -> {
+                try {
+                    // Timed, so a writer waiting on a full queue notices close() and lets it seal.
+                    while (!queue.offer(record, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (!running) {
+                            return false;
+                        }
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            case DropNewest -> {
+                if (!queue.offer(record)) {
+                    return false;
+                }
+            }
+            case DropOldest -> {
+                while (!queue.offer(record)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                        written.incrementAndGet();
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits until every line accepted before this call has been written and flushed by the
+     * background thread. Gives up after the close timeout so a stuck disk can't hang the caller.
+     */
+    @Override
+    public void flush() {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_TIMEOUT_MILLIS);
+        while (written.get() < target && worker.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Stops accepting lines and lets the background thread write everything still queued and
+     * close the target writer. Waits up to the close timeout for that; if the disk is stuck, the
+     * background thread still closes the target once its last write returns. The background
+     * thread is never interrupted, because an interrupt during a channel write would close the
+     * channel and lose the tail of the log.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        gate.writeLock().lock();                    // Waits for writers still enqueueing.
+        try {
+            sealed = true;
+        } finally {
+            gate.writeLock().unlock();
+        }
+        try {
+            worker.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns how many lines were dropped so far.
+     *
+     * @return the number of dropped lines
+     */
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** Body of the background thread: drain the queue in batches until sealed and empty. */
+    private void run() {
+        try {
+            drain();
+        } finally {
+            try {
+                target.close();
+            } catch (IOException ex) {
+                Log.debug("Closing the log writer failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    /** Writes the queued lines in batches until the queue is sealed and empty. */
+    private void drain() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        while (!sealed || !queue.isEmpty()) {
+            String first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            batch.add(first);
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            try {
+                for (String line : batch) {
+                    target.write(line);
+                }
+                target.flush();
+            } catch (IOException ex) {
+                Log.debug("Asynchronous log write failed: " + ex.getMessage());
+            }
+            written.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+}
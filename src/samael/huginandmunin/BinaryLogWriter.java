@@ -0,0 +1,444 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/BinaryLogWriter.java
+// This file is part of the Samael.HuginAndMunin library. The BinaryLogWriter stores log records in a
+// compact binary format instead of text. Components and message templates are interned: the first
+// time one shows up it is written once as a definition, afterwards every record only carries its
+// small id. A record is a tag byte, the level, a nanosecond timestamp, the component id, the template
+// id and the raw template arguments, all as variable-length integers where possible. No timestamp
+// text, no String.format, no message string per record. LogDecoder turns the file back into the
+// familiar HH:mm:ss.SSS [Level] [Component] message text.
+//
+// The file is opened for appending: every writer starts a new session with its own header and its
+// own intern tables, so switching Log's settings (or restarting the application) adds to the file
+// instead of wiping it. The binary log is not rotated; Log's rolling settings apply to the text log
+// only. Records that reach the Log through the Logger facade (FileSink) arrive formatted already
+// and are stored as text records, the compact form only covers Log.writeLine() calls.
+//
+// Records are buffered, but Error records and exceptions are written to the file right away, and
+// the buffer is flushed by the first record more than a second after the last flush, so a crash
+// loses at most the routine records of the last second. A closed writer takes no more records;
+// its write methods return false and Log falls back to the text path.
+//
+// File layout (all multi-byte fixed-width numbers big-endian, "varint" = unsigned LEB128):
+//   session    header followed by definitions and records; a file holds one or more sessions
+//   header     'H' 'M' 'L' 'B', version byte, base epoch millis (8 bytes)
+//   component  TAG_COMPONENT, varint id, string
+//   template   TAG_TEMPLATE, varint id, string
+//   record     TAG_RECORD, level byte, varint nanos since base, varint component id,
+//              varint template id (0 = inline string follows), varint arg count, args
+//   exception  TAG_EXCEPTION, varint nanos since base, string ("Type: message" + stack lines)
+//   text       TAG_TEXT, varint nanos since base, string (pre-formatted line, written verbatim)
+//   string     varint byte length, UTF-8 bytes
+//   arg        ARG_NULL | ARG_LONG zigzag varint | ARG_DOUBLE 8 bytes | ARG_BOOLEAN byte |
+//              ARG_CHAR 2 bytes | ARG_STRING string | ARG_FLOAT 4 bytes
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 Appends a session instead of truncating; float arguments.             Version: 00.02
+// Fri 2026-10-16 Refuses records once closed; flushes Error records and every second.  Version: 00.03
+// Fri 2026-10-16 Arguments are turned into strings before a record is started.         Version: 00.04
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writer for the binary log format. All methods are synchronized; records are collected in a
+ * buffer and written to the file when the buffer is full, after an Error record or an exception,
+ * when the last flush is more than FLUSH_INTERVAL_NANOS ago, on flush() and on close().
+ */
+final class BinaryLogWriter {
+
+    /** File magic, "HMLB" (HuginAndMunin Log Binary). */
+    static final byte[] MAGIC = { 'H', 'M', 'L', 'B' };
+
+    /** Format version written into the header. Version 2 added ARG_FLOAT. */
+    static final byte VERSION = 2;
+
+    /** Defines a component id. */
+    static final byte TAG_COMPONENT = 1;
+
+    /** Defines a template id. */
+    static final byte TAG_TEMPLATE = 2;
+
+    /** A regular log record. */
+    static final byte TAG_RECORD = 3;
+
+    /** An exception with its stack trace. */
+    static final byte TAG_EXCEPTION = 4;
+
+    /** A line that was already formatted as text (e.g. coming through the Logger facade). */
+    static final byte TAG_TEXT = 5;
+
+    /** Argument type: null. */
+    static final byte ARG_NULL = 0;
+
+    /** Argument type: integral number, zigzag varint. */
+    static final byte ARG_LONG = 1;
+
+    /** Argument type: floating point number, 8 bytes. */
+    static final byte ARG_DOUBLE = 2;
+
+    /** Argument type: boolean, 1 byte. */
+    static final byte ARG_BOOLEAN = 3;
+
+    /** Argument type: char, 2 bytes. */
+    static final byte ARG_CHAR = 4;
+
+    /** Argument type: anything else, written as its toString() value. */
+    static final byte ARG_STRING = 5;
+
+    /** Argument type: float, 4 bytes, so it prints like the Float it was. */
+    static final byte ARG_FLOAT = 6;
+
+    /** Maximum number of interned components or templates; beyond that strings go inline. */
+    private static final int MAX_INTERNED = 4096;
+
+    /** Size of the output buffer. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** A record written longer than this after the last flush flushes the buffer, one second. */
+    private static final long FLUSH_INTERVAL_NANOS = 1_000_000_000L;
+
+    /** The binary log file. */
+    private final FileChannel channel;
+
+    /** Collects encoded records until they are written to the file. */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /** Scratch buffer strings are encoded into before their length is known. */
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+
+    /** Reused UTF-8 encoder. */
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    /** Interned component names and their ids. */
+    private final Map<String, Integer> components = new HashMap<>();
+
+    /** Interned message templates and their ids. */
+    private final Map<String, Integer> templates = new HashMap<>();
+
+    /** System.nanoTime() when the file was opened; record timestamps are relative to it. */
+    private final long baseNanos;
+
+    /** System.nanoTime() of the last flush. */
+    private long flushedNanos;
+
+    /** Set by close(); a closed writer refuses further records. */
+    private boolean closed;
+
+    /**
+     * Opens (or creates) the binary log file for appending and starts a new session with its
+     * header. Records of earlier sessions stay in the file.
+     *
+     * @param fileName absolute path of the binary log file
+     * @throws IOException if the file can't be opened
+     */
+    BinaryLogWriter(String fileName) throws IOException {
+        channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        baseNanos = System.nanoTime();
+        flushedNanos = baseNanos;
+        buffer.put(MAGIC).put(VERSION).putLong(System.currentTimeMillis());
+    }
+
+    /**
+     * Writes a record with a fixed message (no template arguments).
+     *
+     * @param level the level bit of the record
+     * @param component the component that logged it
+     * @param message the message text, written inline
+     * @return false if the writer is closed and the record was not written
+     * @throws IOException if the buffer can't be written to the file
+     */
+    synchronized boolean writeMessage(int level, String component, String message) throws IOException {
+        if (closed) return false;
+
+        writeRecordHead(level, component, 0);
+        writeString(message);
+        writeVarint(0);
+        return written(level == Level.Error.value);
+    }
+
+    /**
+     * Writes a record with an interned template and its raw arguments. Arguments other than
+     * primitive wrappers and CharSequences are turned into strings before anything is written:
+     * a toString() that logs re-enters this writer on the same thread, and its record must not
+     * land in the middle of this one.
+     *
+     * @param level the level bit of the record
+     * @param component the component that logged it
+     * @param template the message template with {} placeholders
+     * @param args the placeholder values
+     * @return false if the writer is closed and the record was not written
+     * @throws IOException if the buffer can't be written to the file
+     */
+    synchronized boolean writeTemplate(int level, String component, String template, Object[] args)
+            throws IOException {
+        if (closed) return false;
+
+        args = plainArgs(args);
+        if (closed) return false;
+
+        int templateId = intern(templates, TAG_TEMPLATE, template);
+        writeRecordHead(level, component, templateId);
+        if (templateId == 0) {
+            writeString(template);
+        }
+        writeVarint(args.length);
+        for (Object arg : args) {
+            writeArg(arg);
+        }
+        return written(level == Level.Error.value);
+    }
+
+    /**
+     * Writes an exception record.
+     *
+     * @param text {@code Type: message} followed by the stack trace lines
+     * @return false if the writer is closed and the record was not written
+     * @throws IOException if the buffer can't be written to the file
+     */
+    synchronized boolean writeException(CharSequence text) throws IOException {
+        if (closed) return false;
+
+        ensure(1);
+        buffer.put(TAG_EXCEPTION);
+        writeVarint(System.nanoTime() - baseNanos);
+        writeString(text);
+        return written(true);
+    }
+
+    /**
+     * Writes a line that was already formatted as text; the decoder prints it verbatim.
+     *
+     * @param line the formatted line
+     * @return false if the writer is closed and the line was not written
+     * @throws IOException if the buffer can't be written to the file
+     */
+    synchronized boolean writeText(CharSequence line) throws IOException {
+        if (closed) return false;
+
+        ensure(1);
+        buffer.put(TAG_TEXT);
+        writeVarint(System.nanoTime() - baseNanos);
+        writeString(line);
+        return written(false);
+    }
+
+    /**
+     * Writes the buffered records to the file.
+     *
+     * @throws IOException if the file can't be written
+     */
+    synchronized void flush() throws IOException {
+        if (closed) return;
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        flushedNanos = System.nanoTime();
+    }
+
+    /**
+     * Flushes and closes the file.
+     *
+     * @throws IOException if the file can't be written or closed
+     */
+    synchronized void close() throws IOException {
+        if (closed) return;
+
+        try {
+            flush();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    /**
+     * Finishes a record: flushes the buffer if the record is urgent or the last flush is more
+     * than FLUSH_INTERVAL_NANOS ago.
+     *
+     * @param urgent true for Error records and exceptions
+     * @return always true, the record was written
+     * @throws IOException if the buffer can't be written to the file
+     */
+    private boolean written(boolean urgent) throws IOException {
+        if (urgent || System.nanoTime() - flushedNanos > FLUSH_INTERVAL_NANOS) {
+            flush();
+        }
+        return true;
+    }
+
+    /**
+     * Writes tag, level, timestamp, component id and template id of a record. A component seen
+     * for the first time is defined right before the record.
+     *
+     * @param level the level bit
+     * @param component the component name
+     * @param templateId the template id, 0 for an inline string
+     * @throws IOException if the buffer can't be written to the file
+     */
+    private void writeRecordHead(int level, String component, int templateId) throws IOException {
+        int componentId = intern(components, TAG_COMPONENT, component);
+        ensure(2);
+        buffer.put(TAG_RECORD).put((byte) level);
+        writeVarint(System.nanoTime() - baseNanos);
+        writeVarint(componentId);
+        if (componentId == 0) {
+            writeString(component);
+        }
+        writeVarint(templateId);
+    }
+
+    /**
+     * Returns the id of an interned string, defining it in the file on first use. Ids start at
+     * 1; 0 means the table is full and the caller has to write the string inline.
+     *
+     * @param table the intern table
+     * @param tag the definition tag for the file
+     * @param value the string to intern
+     * @return the id, or 0 if the string can't be interned
+     * @throws IOException if the buffer can't be written to the file
+     */
+    private int intern(Map<String, Integer> table, byte tag, String value) throws IOException {
+        Integer id = table.get(value);
+        if (id != null) return id;
+        if (table.size() >= MAX_INTERNED) return 0;
+
+        int next = table.size() + 1;
+        table.put(value, next);
+        ensure(1);
+        buffer.put(tag);
+        writeVarint(next);
+        writeString(value);
+        return next;
+    }
+
+    /**
+     * Returns the arguments with every value writeArg() would have to call toString() on
+     * replaced by that string. The caller's array is copied only if something is replaced.
+     *
+     * @param args the placeholder values
+     * @return the arguments, ready to be written without calling back into user code
+     */
+    private static Object[] plainArgs(Object[] args) {
+        Object[] plain = args;
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null || arg instanceof Integer || arg instanceof Long || arg instanceof Short
+                    || arg instanceof Byte || arg instanceof Double || arg instanceof Float
+                    || arg instanceof Boolean || arg instanceof Character || arg instanceof CharSequence) {
+                continue;
+            }
+            if (plain == args) {
+                plain = args.clone();
+            }
+            plain[i] = String.valueOf(arg);
+        }
+        return plain;
+    }
+
+    /**
+     * Writes one template argument with its type tag.
+     *
+     * @param arg the argument
+     * @throws IOException if the buffer can't be written to the file
+     */
+    private void writeArg(Object arg) throws IOException {
+        ensure(1 + 8);
+        if (arg == null) {
+            buffer.put(ARG_NULL);
+        } else if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+            long value = ((Number) arg).longValue();
+            buffer.put(ARG_LONG);
+            writeVarint((value << 1) ^ (value >> 63));
+        } else if (arg instanceof Double value) {
+            buffer.put(ARG_DOUBLE).putDouble(value);
+        } else if (arg instanceof Float value) {
+            buffer.put(ARG_FLOAT).putFloat(value);
+        } else if (arg instanceof Boolean flag) {
+            buffer.put(ARG_BOOLEAN).put((byte) (flag ? 1 : 0));
+        } else if (arg instanceof Character c) {
+            buffer.put(ARG_CHAR).putChar(c);
+        } else {
+            buffer.put(ARG_STRING);
+            writeString(arg instanceof CharSequence text ? text : String.valueOf(arg));
+        }
+    }
+
+    /**
+     * Writes a string as varint byte length followed by its UTF-8 bytes.
+     *
+     * @param text the string
+     * @throws IOException if the buffer can't be written to the file
+     */
+    private void writeString(CharSequence text) throws IOException {
+        int maxBytes = text.length() * 3;
+        if (scratch.capacity() < maxBytes) {
+            scratch = ByteBuffer.allocate(maxBytes);
+        }
+        scratch.clear();
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(text), scratch, true);
+        encoder.flush(scratch);
+        scratch.flip();
+
+        writeVarint(scratch.remaining());
+        while (scratch.hasRemaining()) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int chunk = Math.min(buffer.remaining(), scratch.remaining());
+            buffer.put(buffer.position(), scratch, scratch.position(), chunk);
+            buffer.position(buffer.position() + chunk);
+            scratch.position(scratch.position() + chunk);
+        }
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint, flushing the buffer first if it could run out of room.
+     *
+     * @param value the value, treated as unsigned
+     * @throws IOException if the buffer can't be written to the file
+     */
+    private void writeVarint(long value) throws IOException {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Makes sure the buffer has room for the given number of bytes, flushing it if needed.
+     *
+     * @param bytes the number of bytes about to be written
+     * @throws IOException if the buffer can't be written to the file
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/ChannelLogWriter.java
+// This file is part of the Samael.HuginAndMunin library. The ChannelLogWriter keeps one FileChannel
+// open for the whole lifetime of the logger and collects encoded lines in a byte buffer. The buffer
+// only goes down to the file when it is full or when flush() is called, so a batch of log lines
+// costs one write syscall instead of an open/write/close round-trip per line.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 Encoding moved into the EncodingLogWriter base class.                 Version: 00.02
+// Fri 2026-10-16 Added auto flush for synchronous use behind the rolling writer.       Version: 00.03
+// Fri 2026-10-16 write() returns false once the channel is closed.                     Version: 00.04
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffered log writer on top of a single, long-lived {@link FileChannel} in append mode.
+ * Not thread safe; it is meant to be driven by exactly one thread (the asynchronous writer)
+ * or by a writer that serializes access itself.
+ */
+final class ChannelLogWriter extends EncodingLogWriter {
+
+    /** Size of the byte buffer that collects encoded lines before they go to the channel. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The channel to the log file, open until close() is called. */
+    private final FileChannel channel;
+
+    /** Whether every line goes to the channel right away instead of waiting for flush(). */
+    private final boolean autoFlush;
+
+    /**
+     * Opens (or creates) the log file in append mode.
+     *
+     * @param fileName absolute path of the log file
+     * @param autoFlush true to write every line through immediately (synchronous logging),
+     *                  false to collect lines until flush() (behind the asynchronous writer)
+     * @throws IOException if the file can't be opened for writing
+     */
+    ChannelLogWriter(String fileName, boolean autoFlush) throws IOException {
+        super(ByteBuffer.allocate(BUFFER_SIZE));
+        this.autoFlush = autoFlush;
+        channel = FileChannel.open(Paths.get(fileName),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public boolean write(CharSequence line) throws IOException {
+        if (!super.write(line)) return false;
+
+        if (autoFlush) {
+            drain();
+        }
+        return true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Override
+    protected boolean isClosed() {
+        return !channel.isOpen();
+    }
+
+    @Override
+    protected void overflow() throws IOException {
+        drain();
+    }
+
+    /**
+     * Writes the buffered bytes to the channel and empties the buffer.
+     *
+     * @throws IOException if the channel write fails
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
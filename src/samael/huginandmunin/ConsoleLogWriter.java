@@ -0,0 +1,64 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/ConsoleLogWriter.java
+// This file is part of the Samael.HuginAndMunin library. The ConsoleLogWriter encodes console lines in
+// the console charset into one byte buffer and hands the whole buffer to System.out in a single write
+// on flush(). Behind the asynchronous writer a batch of up to 256 lines then costs one synchronized
+// write and one flush on System.out instead of one println (lock, encode, autoflush) per line.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Buffered writer in front of System.out. Not thread safe; it is meant to be driven by the single
+ * background thread of an {@link AsyncLogWriter}.
+ */
+final class ConsoleLogWriter extends EncodingLogWriter {
+
+    /** Size of the byte buffer that collects encoded lines before they go to the console. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Creates the writer with an empty buffer. */
+    ConsoleLogWriter() {
+        super(ByteBuffer.allocate(BUFFER_SIZE), LogFormat.CONSOLE_CHARSET);
+    }
+
+    @Override
+    public void flush() {
+        drain();
+        System.out.flush();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /** Never closed for good: close() only flushes, System.out stays usable. */
+    @Override
+    protected boolean isClosed() {
+        return false;
+    }
+
+    @Override
+    protected void overflow() {
+        drain();
+    }
+
+    /** Writes the buffered bytes to System.out and empties the buffer. */
+    private void drain() {
+        if (buffer.position() == 0) return;
+
+        PrintStream out = System.out;
+        out.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+}
@@ -0,0 +1,170 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/ConsoleSink.java
+// This file is part of the Samael.HuginAndMunin library. The ConsoleSink prints Logger records to the
+// console in the same colors Debug uses. Just like Debug, it stays silent unless the application was
+// started with the -debug argument. With setAsync() the records are queued and a background thread
+// writes them in batches, so a slow or piped terminal never blocks the caller (often the Swing EDT).
+// When the output is not a terminal the color codes are left out; that is decided once at startup.
+// Its level mask is Debug's bitmask, so Debug.setBitmask() and setBitmask() on this sink are the same.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 Asynchronous batched output, no color codes without a terminal.       Version: 00.02
+// Fri 2026-10-16 The level mask is Debug's bitmask instead of one of its own.          Version: 00.03
+// Fri 2026-10-16 A record racing shutdown() is printed synchronously, not dropped.     Version: 00.04
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.IOException;
+
+/**
+ * Logger sink for colored console output, active only in debug mode. Debug prints through it as
+ * well, so both share the same (optional) background writer.
+ */
+public final class ConsoleSink extends LogSink {
+
+    /** ANSI escape code for resetting the console color. */
+    private static final String ANSI_RESET = "\u001B[0m";
+
+    /** ANSI escape code for red text, used for errors and exceptions. */
+    private static final String ANSI_RED = "\u001B[31m";
+
+    /** ANSI escape code for yellow text, used for warnings. */
+    private static final String ANSI_YELLOW = "\u001B[33m";
+
+    /** ANSI escape code for cyan text, used for informational messages. */
+    private static final String ANSI_CYAN = "\u001B[36m";
+
+    /** ANSI escape code for gray text, used for verbose messages. */
+    private static final String ANSI_GRAY = "\u001B[90m";
+
+    /**
+     * Whether the output goes to a terminal that understands the color codes. Piped or redirected
+     * output (and IDE consoles) get plain text. Decided once, so no line pays for the check.
+     */
+    static final boolean COLORS = System.console() != null;
+
+    /** Reset code, or empty without colors. */
+    static final String RESET = COLORS ? ANSI_RESET : "";
+
+    /** The background writer while setAsync() is on, otherwise null. */
+    private volatile AsyncLogWriter async;
+
+    /** Makes sure the shutdown hook is only registered once. */
+    private boolean hookInstalled = false;
+
+    /** The mask of the console, see {@link Debug#getBitmask()}. */
+    @Override
+    public int getBitmask() {
+        return Debug.getBitmask();
+    }
+
+    /** Sets the mask of the console, see {@link Debug#setBitmask(int)}. */
+    @Override
+    public void setBitmask(int bitmaskIn) {
+        Debug.setBitmask(bitmaskIn);
+    }
+
+    /** Active only when Debug.init() found the -debug argument. */
+    @Override
+    public boolean isActive() {
+        return Debug.isDebugOn();
+    }
+
+    /**
+     * Switches between synchronous and asynchronous console output. Asynchronous records are
+     * queued and written by the background thread "HuginAndMunin-ConsoleWriter" in batches of up
+     * to 256 lines with one write and one flush per batch. Queued records are written out on
+     * shutdown().
+     *
+     * @param capacity maximum number of records waiting in the queue; 0 prints synchronously again
+     * @param policy what to do when the queue is full
+     */
+    public synchronized void setAsync(int capacity, Log.OverflowPolicy policy) {
+        shutdown();
+        if (capacity <= 0) return;
+
+        async = new AsyncLogWriter(new ConsoleLogWriter(), capacity, policy, "HuginAndMunin-ConsoleWriter");
+        if (!hookInstalled) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "HuginAndMunin-ConsoleShutdown"));
+            hookInstalled = true;
+        }
+    }
+
+    /** Waits until every record queued so far has been printed (bounded by a timeout). */
+    public void flush() {
+        AsyncLogWriter current = async;
+        if (current != null) {
+            current.flush();
+        }
+    }
+
+    /** Prints what is still queued and returns to synchronous output. */
+    public synchronized void shutdown() {
+        AsyncLogWriter current = async;
+        if (current == null) return;
+
+        async = null;
+        try {
+            current.close();
+        } catch (IOException ex) {
+            Log.debug("Failed to close console writer: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns how many console records were dropped because the queue was full.
+     *
+     * @return the number of dropped records of the current background writer
+     */
+    public long getDroppedCount() {
+        AsyncLogWriter current = async;
+        return current != null ? current.getDroppedCount() : 0;
+    }
+
+    @Override
+    protected void emit(Level level, CharSequence record) {
+        if (!Debug.isDebugOn()) return;
+
+        String color = color(level);
+        print(color, record, color.isEmpty() ? "" : RESET);
+    }
+
+    /**
+     * Prints one record, wrapped in prefix and suffix, synchronously or through the queue.
+     *
+     * @param prefix written before the text, e.g. a color code
+     * @param text the record
+     * @param suffix written after the text, e.g. the reset code
+     */
+    void print(String prefix, CharSequence text, String suffix) {
+        AsyncLogWriter current = async;
+        if (current != null) {
+            StringBuilder line = new StringBuilder(prefix.length() + text.length() + suffix.length());
+            if (current.write(line.append(prefix).append(text).append(suffix))) return;
+        }
+        LogFormat.println(System.out, prefix, text, suffix);
+    }
+
+    /**
+     * Returns the color code of a level, or an empty string without colors.
+     *
+     * @param level the level
+     * @return the color code
+     */
+    static String color(Level level) {
+        if (!COLORS) return "";
+
+        return switch (level) {
+            case Error   -> ANSI_RED;
+            case Warning -> ANSI_YELLOW;
+            case Info    -> ANSI_CYAN;
+            case Verbose -> ANSI_GRAY;
+            default      -> "";
+        };
+    }
+}
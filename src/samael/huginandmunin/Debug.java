@@ -13,11 +13,23 @@
 // --------------------------------------------------------------------------------------------
 // Change Log:
 // Mon 2025-08-18 Initial Java port from C# version.                          Version: 00.01
+// Fri 2026-10-16 Garbage-free formatting and console output via LogFormat.   Version: 00.02
+// Fri 2026-10-16 Added isEnabled(), Supplier and template overloads.         Version: 00.03
+// Fri 2026-10-16 Debug mode is visible to the Logger facade's console sink.  Version: 00.04
+// Fri 2026-10-16 Every message is also kept in the FlightRecorder.           Version: 00.05
+// Fri 2026-10-16 Output goes through the (optionally async) ConsoleSink.     Version: 00.06
+// Fri 2026-10-16 Bitmask is volatile, a config reload can change it.         Version: 00.07
+// Fri 2026-10-16 Bitmask is also the mask of Logger.CONSOLE.                 Version: 00.08
+// Fri 2026-10-16 A supplier message is recorded only if its level is         Version: 00.09
+//                enabled and the supplier was called, the one exception to
+//                the always-on FlightRecorder.
+// Fri 2026-10-16 Traces show suppressed exceptions and survive cause loops.  Version: 00.10
+// Fri 2026-10-16 Stack trace formatting moved to LogFormat.appendTrace().    Version: 00.11
+// Fri 2026-10-16 Colors taken from ConsoleSink; DebugLevel maps to Level.    Version: 00.12
 // --------------------------------------------------------------------------------------------
 package samael.huginandmunin;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
 
 /**
  * This file is part of the Samael.HuginAndMunin library and provides a debugging utility.
@@ -29,27 +41,36 @@ import java.time.format.DateTimeFormatter;
  */
 public final class Debug {
 
-    /** The enum DebugLevel is used to categorize the severity of debug messages. */
+    /**
+     * The enum DebugLevel is used to categorize the severity of debug messages.
+     *
+     * @deprecated Kept for existing callers; the bits are taken from {@link Level}, the one level
+     *             scale of the library. New code logs through {@link Logger} with {@link Level}.
+     */
+    @Deprecated
     public enum DebugLevel {
-        None(0),                                                            // No debug messages will be shown.
-        @SuppressWarnings("PointlessBitwiseExpression")
-        Error(1 << 0),                                                      // Error messages will be shown.
-        Warning(1 << 1),                                                    // Warning messages will be shown.
-        Info(1 << 2),                                                       // Informational messages will be shown.
-        Verbose(1 << 3),                                                    // Verbose messages will be shown.
-        All(Error.value | Warning.value | Info.value | Verbose.value);      // All messages will be shown.
+        None(Level.None),                                                   // No debug messages will be shown.
+        Error(Level.Error),                                                 // Error messages will be shown.
+        Warning(Level.Warning),                                             // Warning messages will be shown.
+        Info(Level.Info),                                                   // Informational messages will be shown.
+        Verbose(Level.Verbose),                                             // Verbose messages will be shown.
+        All(Level.All);                                                     // All messages will be shown.
 
         /** The integer value associated with each debug level. */
         public final int value;
 
+        /** The level of the library this debug level stands for. */
+        final Level level;
+
         /** Construction for the enum class. */
-        DebugLevel(int value) {
-            this.value = value;
+        DebugLevel(Level level) {
+            this.level = level;
+            this.value = level.value;
         }
     }
 
     /** The bitmask representing the active debug levels. */
-    private static int bitmask = DebugLevel.All.value;
+    private static volatile int bitmask = Level.All.value;
 
     /** Flag indicating whether debugging is enabled. */
     private static boolean debugOn = false;
@@ -60,17 +81,27 @@ public final class Debug {
     }
 
     /** Returns whether debug mode is currently enabled. */
-    private static boolean isDebugOn() {
+    static boolean isDebugOn() {
         return debugOn;
     }
 
     /**
-     * Sets the bitmask representing the active debug levels.
+     * Sets the bitmask representing the active debug levels. This is the one mask of the
+     * console: it is also the mask of the Logger's console sink ({@link Logger#CONSOLE}).
      * 
      * @param bitmaskIn The new bitmask value to set.
      */
     public static void setBitmask(int bitmaskIn) {
         bitmask = bitmaskIn;
+        Logger.refresh();
+    }
+
+    /**
+     * Returns the bitmask representing the active debug levels.
+     * @return The bitmask.
+     */
+    public static int getBitmask() {
+        return bitmask;
     }
 
     /**
@@ -85,58 +116,95 @@ public final class Debug {
             break;
             }
         }
+        Logger.refresh();
+    }
+
+    /**
+     * Tells whether messages of the given level would be printed. Costs one flag and one bitmask
+     * test, so callers can guard expensive message building with it.
+     * @param level The debug level to check.
+     * @return true if debug mode is active and the level is enabled.
+     */
+    public static boolean isEnabled(DebugLevel level) {
+        return isDebugOn() && (bitmask & level.value) != 0;
     }
 
     /**
      * Writes a debug message to the console if debug mode is active and the level is enabled.
+     * The message is kept in the FlightRecorder either way, which costs a small record object
+     * unless FlightRecorder.setBitmask() leaves the level out.
      * @param level The debug level of the message.
      * @param message The debug message to write.
      * @param component The name of the component logging the message.
      */
     public static void writeLine(DebugLevel level, String message, String component) {
-        if (isDebugOn() && (bitmask & level.value) != 0) {
-            String timestamp = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
-            String prefix = String.format("%s [%s] [%s] ", timestamp, level.name(), component);
-            System.out.println(colorize(level, prefix + message));
+        FlightRecorder.record(level.value, message, component);
+        if (isEnabled(level)) {
+            StringBuilder line = LogFormat.appendPrefix(LogFormat.builder(), level.name(), component);
+            print(line.append(message), ConsoleSink.color(level.level));
         }
     }
 
     /**
-     * Writes an exception stack trace to the error output if debug mode is active and Error level is enabled.
+     * Writes a lazily built debug message. The supplier is only called when the level is
+     * enabled, and only then is the message kept in the FlightRecorder, as the text it built;
+     * a disabled level costs a single bitmask test.
+     * @param level The debug level of the message.
+     * @param message Supplies the debug message on demand.
+     * @param component The name of the component logging the message.
+     */
+    public static void writeLine(DebugLevel level, Supplier<String> message, String component) {
+        if (!isEnabled(level)) return;
+
+        String text = message.get();
+        FlightRecorder.record(level.value, text, component);
+        StringBuilder line = LogFormat.appendPrefix(LogFormat.builder(), level.name(), component);
+        print(line.append(text), ConsoleSink.color(level.level));
+    }
+
+    /**
+     * Writes a debug message built from a template. Every {@code {}} in the template is replaced
+     * by the next argument, directly in the output buffer and only when the level is enabled.
+     * @param level The debug level of the message.
+     * @param template The message template, e.g. {@code "Window size {} x {}"}.
+     * @param component The name of the component logging the message.
+     * @param args The values for the placeholders.
+     */
+    public static void writeLine(DebugLevel level, String template, String component, Object... args) {
+        FlightRecorder.record(level.value, template, component, args);
+        if (isEnabled(level)) {
+            StringBuilder line = LogFormat.appendPrefix(LogFormat.builder(), level.name(), component);
+            print(LogFormat.appendTemplate(line, template, args), ConsoleSink.color(level.level));
+        }
+    }
+
+    /**
+     * Writes an exception stack trace to the console if debug mode is active and Error level is enabled.
+     * Header and stack trace (including causes) go out as one record, so they stay together even
+     * when other threads print at the same time or the console output is asynchronous.
      * @param ex The exception to log.
      */
     public static void writeException(Exception ex) {
-        if (isDebugOn() && (bitmask & DebugLevel.Error.value) != 0) {
-            String timestamp = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
-            String message = String.format("%s [Exception] %s: %s",
-                timestamp,
-                ex.getClass().getSimpleName(),
-                ex.getMessage()
-            );
-            System.out.println(colorize(DebugLevel.Error, message));
-            ex.printStackTrace(System.out); // 👈 Replaced System.err with System.out
+        FlightRecorder.record(ex);
+        if (isEnabled(DebugLevel.Error)) {
+            String color = ConsoleSink.color(Level.Error);
+            StringBuilder line = LogFormat.appendTime(LogFormat.builder(), System.currentTimeMillis())
+                .append(" [Exception] ").append(ex.getClass().getSimpleName())
+                .append(": ").append(ex.getMessage());
+            line.append(ConsoleSink.RESET);
+            LogFormat.appendTrace(line, ex);
+            Logger.CONSOLE.print(color, line, "");
         }
     }
-    
+
     /**
-     * Colorizes a debug message based on its level.
-     * @param level The debug level of the message.
-     * @param message The debug message to colorize.
-     * @return The colorized debug message.
+     * Wraps the finished line in its color (if any) and prints it through the console sink.
+     * The colors are the console sink's, {@link ConsoleSink#color(Level)}, so Debug and Logger
+     * records look the same; without a terminal there are none.
+     * @param line The formatted line.
+     * @param color The color code of the line, or an empty string.
      */
-    private static String colorize(DebugLevel level, String message) {
-        String ANSI_RESET = "\u001B[0m";
-        String ANSI_RED = "\u001B[31m";
-        String ANSI_YELLOW = "\u001B[33m";
-        String ANSI_CYAN = "\u001B[36m";
-        String ANSI_GRAY = "\u001B[90m";
-
-        return switch (level) {
-            case Error   -> ANSI_RED    + message + ANSI_RESET;
-            case Warning -> ANSI_YELLOW + message + ANSI_RESET;
-            case Info    -> ANSI_CYAN   + message + ANSI_RESET;
-            case Verbose -> ANSI_GRAY   + message + ANSI_RESET;
-            default      -> message;
-        };
+    private static void print(StringBuilder line, String color) {
+        Logger.CONSOLE.print(color, line, color.isEmpty() ? "" : ConsoleSink.RESET);
     }
 }
\ No newline at end of file
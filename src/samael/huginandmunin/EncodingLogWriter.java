@@ -0,0 +1,113 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/EncodingLogWriter.java
+// This file is part of the Samael.HuginAndMunin library. EncodingLogWriter is the common base for all
+// log writers that encode lines straight into a ByteBuffer, no matter whether that buffer is a heap
+// buffer in front of a FileChannel or a memory-mapped region of the log file. Subclasses only decide
+// what happens when the buffer is full.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 Lines are copied into a reused char buffer instead of being wrapped.  Version: 00.02
+// Fri 2026-10-16 The charset can be chosen, for writers in front of the console.       Version: 00.03
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base class for writers that encode log lines directly into a {@link ByteBuffer}, in UTF-8
+ * unless a subclass asks for another charset. Not thread safe; callers serialize access.
+ */
+abstract class EncodingLogWriter implements LogWriter {
+
+    /** The platform line separator as bytes, same as PrintWriter.println() would write. */
+    private final byte[] newLine;
+
+    /** Reused encoder for the writer's charset. */
+    private final CharsetEncoder encoder;
+
+    /** Reused char storage each line is copied into before encoding. */
+    private char[] chars = new char[1024];
+
+    /** Buffer view on {@link #chars}, recreated only when the array grows. */
+    private CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+    /** The buffer lines are encoded into. Subclasses may swap it in overflow(). */
+    protected ByteBuffer buffer;
+
+    /**
+     * Creates the writer around its initial buffer.
+     *
+     * @param buffer the buffer lines are encoded into
+     */
+    protected EncodingLogWriter(ByteBuffer buffer) {
+        this(buffer, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates the writer around its initial buffer, encoding in the given charset.
+     *
+     * @param buffer the buffer lines are encoded into
+     * @param charset the charset lines are encoded in
+     */
+    protected EncodingLogWriter(ByteBuffer buffer, Charset charset) {
+        this.buffer = buffer;
+        this.newLine = System.lineSeparator().getBytes(charset);
+        this.encoder = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    public boolean write(CharSequence line) throws IOException {
+        if (isClosed()) return false;
+
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[length];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+        LogFormat.copyChars(line, chars, 0, length);
+        charBuffer.clear().limit(length);
+
+        encoder.reset();
+        while (encoder.encode(charBuffer, buffer, true).isOverflow()) {
+            overflow();
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            overflow();
+        }
+        for (byte b : newLine) {
+            if (!buffer.hasRemaining()) {
+                overflow();
+            }
+            buffer.put(b);
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether close() has been called; write() then refuses new lines.
+     *
+     * @return true once the writer is closed
+     */
+    protected abstract boolean isClosed();
+
+    /**
+     * Called when the buffer is full. Must leave {@link #buffer} with free space, either by
+     * draining it or by replacing it with a fresh one.
+     *
+     * @throws IOException if the buffered data can't be written or a new buffer can't be provided
+     */
+    protected abstract void overflow() throws IOException;
+}
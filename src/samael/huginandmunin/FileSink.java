@@ -0,0 +1,46 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/FileSink.java
+// This file is part of the Samael.HuginAndMunin library. The FileSink hands Logger records to the
+// log file managed by Log, so everything configured there (asynchronous queue, memory-mapped backend,
+// rotation) applies to the facade as well. It is inactive until Log.init() was called. Its level
+// mask is Log's bitmask, so Log.setBitmask() and setBitmask() on this sink are the same thing.
+// With Log's Binary format the records still arrive formatted, so they are stored as text records
+// and don't get the compact template encoding of Log.writeLine().
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 The level mask is Log's bitmask instead of one of its own.            Version: 00.02
+// Fri 2026-10-16 Documented how records are stored in the binary log.                  Version: 00.03
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+/** Logger sink that writes into the log file set up by {@link Log#init(String)}. */
+public final class FileSink extends LogSink {
+
+    /** The mask of the log file, see {@link Log#getBitmask()}. */
+    @Override
+    public int getBitmask() {
+        return Log.getBitmask();
+    }
+
+    /** Sets the mask of the log file, see {@link Log#setBitmask(int)}. */
+    @Override
+    public void setBitmask(int bitmaskIn) {
+        Log.setBitmask(bitmaskIn);
+    }
+
+    /** Active once Log knows its log file. */
+    @Override
+    public boolean isActive() {
+        return Log.isInitialized();
+    }
+
+    @Override
+    protected void emit(Level level, CharSequence record) {
+        Log.writeRecord(record);
+    }
+}
@@ -0,0 +1,340 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/FlightRecorder.java
+// This file is part of the Samael.HuginAndMunin library. The FlightRecorder keeps the most recent
+// debug records in memory, whether -debug is on or not. Recording a record costs a timestamp, one
+// small entry object, one atomic increment and one array store, also for levels no sink accepts;
+// setBitmask() narrows what is recorded, Level.None switches it off. The text is only formatted when
+// the recorder is dumped, but everything that goes into it is captured when it is recorded: numbers,
+// strings and other values keep their value, any other argument is recorded as its toString(), and
+// a lazily built message is built right away. The dump never calls back into caller code.
+// When something goes wrong in production, the dump (on a hotkey, on an uncaught exception, or from
+// code) shows what the application did right before, on the console or in the log file.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 Template arguments are captured when recorded, not when dumped.       Version: 00.02
+// Fri 2026-10-16 Suppliers evaluated when recorded; full cause chain in the dump.      Version: 00.03
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Always-on, lock-free ring buffer of the most recent debug records. Debug and Logger record
+ * into it automatically; dump() and dumpToLog() write its content out, oldest record first.
+ */
+public final class FlightRecorder {
+
+    /** Number of records kept unless setCapacity() says otherwise. */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /** The ring records go to. Replaced as a whole by setCapacity(). */
+    private static volatile Ring ring = new Ring(DEFAULT_CAPACITY);
+
+    /** The levels that are recorded. */
+    private static volatile int bitmask = Level.All.value;
+
+    /** Whether the uncaught exception handler has been installed. */
+    private static boolean handlerInstalled = false;
+
+    /** Static utility, no instances. */
+    private FlightRecorder() {
+    }
+
+    /**
+     * Sets the number of records kept. Rounded up to the next power of two; the records
+     * recorded so far are discarded.
+     *
+     * @param capacity the number of records to keep, at least 1
+     */
+    public static synchronized void setCapacity(int capacity) {
+        ring = new Ring(capacity);
+    }
+
+    /**
+     * Sets the levels that are recorded, independent of the Debug and Logger bitmasks.
+     *
+     * @param bitmaskIn the bitmask of recorded levels, {@code Level.None.value} to stop recording
+     */
+    public static void setBitmask(int bitmaskIn) {
+        bitmask = bitmaskIn;
+    }
+
+    /**
+     * Records a fixed message.
+     *
+     * @param level the level bit of the record
+     * @param message the message
+     * @param component the logical source of the message
+     */
+    public static void record(int level, String message, String component) {
+        if ((bitmask & level) == 0) return;
+
+        ring.add(new Entry(level, component, message, null, null));
+    }
+
+    /**
+     * Records a lazily built message. The supplier is called right away if the level is
+     * recorded, so the record shows the state at the time it was made and the ring keeps only
+     * the text, not the supplier and what it captured. Debug and Logger don't record suppliers
+     * of disabled levels at all.
+     *
+     * @param level the level bit of the record
+     * @param message supplies the message
+     * @param component the logical source of the message
+     */
+    public static void record(int level, Supplier<String> message, String component) {
+        if ((bitmask & level) == 0) return;
+
+        ring.add(new Entry(level, component, message.get(), null, null));
+    }
+
+    /**
+     * Records a template message. Template and arguments are only merged when the recorder is
+     * dumped, but the arguments are captured now: immutable values are kept as they are, any
+     * other argument is replaced by its toString(), so a later change of the object doesn't
+     * change the record.
+     *
+     * @param level the level bit of the record
+     * @param template the message template with {@code {}} placeholders
+     * @param component the logical source of the message
+     * @param args the values for the placeholders
+     */
+    public static void record(int level, String template, String component, Object... args) {
+        if ((bitmask & level) == 0) return;
+
+        ring.add(new Entry(level, component, template, snapshot(args), null));
+    }
+
+    /**
+     * Captures template arguments. The array is copied only if an argument has to be replaced.
+     *
+     * @param args the values for the placeholders
+     * @return the arguments as they are now
+     */
+    private static Object[] snapshot(Object[] args) {
+        Object[] copy = args;
+        for (int i = 0; i < args.length; i++) {
+            if (isValue(args[i])) continue;
+
+            if (copy == args) {
+                copy = args.clone();
+            }
+            copy[i] = LogFormat.render(args[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * Tells whether an argument can be kept as it is because it can't change anymore.
+     *
+     * @param arg the argument
+     * @return true for null, strings, boxed primitives and enum constants
+     */
+    private static boolean isValue(Object arg) {
+        return arg == null || arg instanceof String || arg instanceof Integer || arg instanceof Long
+            || arg instanceof Double || arg instanceof Float || arg instanceof Short || arg instanceof Byte
+            || arg instanceof Boolean || arg instanceof Character || arg instanceof Enum;
+    }
+
+    /**
+     * Records an exception; its stack trace is rendered when the recorder is dumped.
+     *
+     * @param ex the exception
+     */
+    public static void record(Throwable ex) {
+        if ((bitmask & Level.Error.value) == 0) return;
+
+        ring.add(new Entry(Level.Error.value, null, null, null, ex));
+    }
+
+    /**
+     * Writes the recorded records to a stream, oldest first, framed by a header and footer line.
+     *
+     * @param out the stream to write to, e.g. System.out
+     */
+    public static void dump(PrintStream out) {
+        StringBuilder line = new StringBuilder(256);
+        out.println("--- Flight recorder dump ---");
+        int count = ring.forEach(line, () -> out.println(line));
+        out.println("--- Flight recorder: " + count + " record(s) ---");
+        out.flush();
+    }
+
+    /**
+     * Writes the recorded records into the log file, oldest first. Does nothing before
+     * Log.init().
+     */
+    public static void dumpToLog() {
+        if (!Log.isInitialized()) return;
+
+        StringBuilder line = new StringBuilder(256);
+        Log.writeRecord("--- Flight recorder dump ---");
+        int count = ring.forEach(line, () -> Log.writeRecord(line));
+        Log.writeRecord("--- Flight recorder: " + count + " record(s) ---");
+        Log.flush();
+    }
+
+    /**
+     * Installs a default uncaught exception handler that records the exception and dumps the
+     * recorder to the console and the log file before it hands the exception on to the handler
+     * that was installed before. Installing it more than once has no effect.
+     */
+    public static synchronized void installUncaughtExceptionHandler() {
+        if (handlerInstalled) return;
+
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, ex) -> {
+            record(ex);
+            dump(System.out);
+            dumpToLog();
+            if (previous != null) {
+                previous.uncaughtException(thread, ex);
+            } else {
+                System.err.print("Exception in thread \"" + thread.getName() + "\" ");
+                ex.printStackTrace(System.err);
+            }
+        });
+        handlerInstalled = true;
+    }
+
+    /** One recorded record. Completely written before it is published in the ring. */
+    private static final class Entry {
+
+        /** Sequence number of the record; tells a reader whether the slot was overwritten. */
+        long sequence;
+
+        /** Epoch millisecond the record was made. */
+        final long time;
+
+        /** Level bit of the record. */
+        final int level;
+
+        /** Logical source of the record, or null for exceptions. */
+        final String component;
+
+        /** Fixed message or template. */
+        final String text;
+
+        /** Template arguments, or null for a fixed message. */
+        final Object[] args;
+
+        /** Recorded exception, or null. */
+        final Throwable exception;
+
+        /**
+         * Creates a record stamped with the current time.
+         *
+         * @param level the level bit
+         * @param component the logical source
+         * @param text the message or template
+         * @param args the template arguments
+         * @param exception the exception
+         */
+        Entry(int level, String component, String text, Object[] args, Throwable exception) {
+            this.time = System.currentTimeMillis();
+            this.level = level;
+            this.component = component;
+            this.text = text;
+            this.args = args;
+            this.exception = exception;
+        }
+
+        /**
+         * Formats the record the way Debug prints it, without colors.
+         *
+         * @param line the builder to append to
+         * @return the builder
+         */
+        StringBuilder appendTo(StringBuilder line) {
+            if (exception != null) {
+                LogFormat.appendTime(line, time).append(" [Exception] ")
+                    .append(exception.getClass().getSimpleName()).append(": ").append(exception.getMessage());
+                return LogFormat.appendTrace(line, exception);
+            }
+
+            LogFormat.appendTime(line, time).append(" [").append(levelName(level)).append("] [")
+                .append(component).append("] ");
+            return args != null ? LogFormat.appendTemplate(line, text, args) : line.append(text);
+        }
+
+        /**
+         * Returns the level name for a level bit.
+         *
+         * @param value the level bit
+         * @return the level name
+         */
+        private static String levelName(int value) {
+            for (Level level : Level.values()) {
+                if (level.value == value) return level.name();
+            }
+            return "Level" + value;
+        }
+    }
+
+    /** Fixed-size ring of entries; writers never wait for each other or for a dump. */
+    private static final class Ring {
+
+        /** The slots; the record with sequence n lives in slot {@code n & mask}. */
+        private final AtomicReferenceArray<Entry> slots;
+
+        /** Slot count minus one, the slot count being a power of two. */
+        private final int mask;
+
+        /** Sequence number of the next record. */
+        private final AtomicLong next = new AtomicLong();
+
+        /**
+         * Creates an empty ring.
+         *
+         * @param capacity the minimum number of slots
+         */
+        Ring(int capacity) {
+            int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+            slots = new AtomicReferenceArray<>(size);
+            mask = slots.length() - 1;
+        }
+
+        /**
+         * Adds an entry, overwriting the oldest one once the ring is full.
+         *
+         * @param entry the entry
+         */
+        void add(Entry entry) {
+            long sequence = next.getAndIncrement();
+            entry.sequence = sequence;
+            slots.lazySet((int) sequence & mask, entry);
+        }
+
+        /**
+         * Formats every entry still in the ring, oldest first, into the builder and calls the
+         * action after each one. Entries overwritten while the dump runs are skipped.
+         *
+         * @param line the builder, cleared before every entry
+         * @param action called with the formatted entry in the builder
+         * @return the number of entries handed to the action
+         */
+        int forEach(StringBuilder line, Runnable action) {
+            long end = next.get();
+            long start = Math.max(0, end - slots.length());
+            int count = 0;
+            for (long sequence = start; sequence < end; sequence++) {
+                Entry entry = slots.get((int) sequence & mask);
+                if (entry == null || entry.sequence != sequence) continue;
+
+                line.setLength(0);
+                entry.appendTo(line);
+                action.run();
+                count++;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/Level.java
+// This file is part of the Samael.HuginAndMunin library. Level is the one severity scale of the
+// library. The deprecated Debug.DebugLevel and Log.LogLevel take their bits from it, so bitmasks
+// built for either of them keep working unchanged with the facade and its sinks.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 DebugLevel and LogLevel derive from Level, not the other way round.   Version: 00.02
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+/** The severity levels of the library, combinable as bitmask. */
+public enum Level {
+    None(0),                                                                // Nothing is written
+    @SuppressWarnings("PointlessBitwiseExpression")
+    Error(1 << 0),                                                          // Errors and exceptions
+    Warning(1 << 1),                                                        // Warnings
+    Info(1 << 2),                                                           // Informational messages
+    Verbose(1 << 3),                                                        // Verbose messages
+    All(Error.value | Warning.value | Info.value | Verbose.value);          // Everything
+
+    /** The bit of this level; All is the union of the four real levels. */
+    public final int value;
+
+    /** Construction for the enum class. */
+    Level(int value) {
+        this.value = value;
+    }
+}
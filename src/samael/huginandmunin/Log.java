@@ -17,6 +17,22 @@
 // Thu 2025-08-21 Refactored to use PrintWriter for writing to log file.                Version: 00.05
 // Sun 2025-08-24 Making sure that Log file is in the personal documents folder.        Version: 00.06
 // Sun 2025-08-31 Added getDocumentsPath() to resolve OS specific paths.                Version: 00.07
+// Fri 2026-10-16 Added asynchronous, batched logging with overflow policies.           Version: 00.08
+// Fri 2026-10-16 Added the memory-mapped log file backend.                             Version: 00.09
+// Fri 2026-10-16 Records are formatted garbage-free through LogFormat.                 Version: 00.10
+// Fri 2026-10-16 Added isEnabled(), Supplier and template overloads.                   Version: 00.11
+// Fri 2026-10-16 Added size and time based rotation with background compression.       Version: 00.12
+// Fri 2026-10-16 Opened writeRecord() to the FileSink of the Logger facade.            Version: 00.13
+// Fri 2026-10-16 Added the compact binary log format (see LogDecoder).                 Version: 00.14
+// Fri 2026-10-16 Documents path cached, overridable and resolved without PowerShell.   Version: 00.15
+// Fri 2026-10-16 Bitmask is volatile, so a config reload can change it at runtime.     Version: 00.16
+// Fri 2026-10-16 shutdown() waits for pending log archive compressions.                Version: 00.17
+// Fri 2026-10-16 The bitmask also governs Logger.FILE; LogLevel mirrors Level.         Version: 00.18
+// Fri 2026-10-16 Documented that the binary log appends and isn't rotated.             Version: 00.19
+// Fri 2026-10-16 The shell folder lookup no longer swallows Errors.                    Version: 00.20
+// Fri 2026-10-16 Records racing a closed binary writer fall back to the text path.     Version: 00.21
+// Fri 2026-10-16 setMapped() raises tiny segment sizes to 4 KB.                        Version: 00.22
+// Fri 2026-10-16 Text records racing a writer switch fall back instead of being lost. Version: 00.23
 // ---------------------------------------------------------------------------------------------------
 package samael.huginandmunin;
 
@@ -26,8 +42,9 @@ package samael.huginandmunin;
  * If we ever add external dependencies, they’ll show up here too—but for now, it’s all native.
  */
 import java.io.*;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Duration;
+import java.util.function.Supplier;
+import javax.swing.filechooser.FileSystemView;
 
 /**
  * This class is part of the samael.huginandmunin library. The Log class provides a logging utility
@@ -53,15 +70,18 @@ public final class Log {
      * loud failures. Each level helps us decide what gets printed, stored, or ignored, depending
      * on how noisy we want the system to be. If you’re adding a new level, make sure it plays well
      * with the filtering logic downstream.
+     *
+     * @deprecated Kept for existing callers; the bits are taken from {@link Level}, the one level
+     *             scale of the library. New code logs through {@link Logger} with {@link Level}.
      */
+    @Deprecated
     public enum LogLevel {
-        None(0),                                                      // No logging
-        @SuppressWarnings("PointlessBitwiseExpression")                     // Suppress warning for All level definition
-        Error(1 << 0),                                                      // Error logging
-        Warning(1 << 1),                                                    // Warning logging
-        Info(1 << 2),                                                       // Info logging
-        Verbose(1 << 3),                                                    // Verbose logging
-        All(Error.value | Warning.value | Info.value | Verbose.value);      // All logging
+        None(Level.None.value),                                             // No logging
+        Error(Level.Error.value),                                           // Error logging
+        Warning(Level.Warning.value),                                       // Warning logging
+        Info(Level.Info.value),                                             // Info logging
+        Verbose(Level.Verbose.value),                                       // Verbose logging
+        All(Level.All.value);                                               // All logging
 
         /**
          * This value holds the bitmask for the current log level.
@@ -84,7 +104,7 @@ public final class Log {
      * Error | Info or Warning | Verbose using bitwise flags, so the logger knows exactly what
      * to print—no extra logic, no redundant state, just clean filtering.
      */
-    private static int bitmask = LogLevel.All.value;
+    private static volatile int bitmask = Level.All.value;
 
     /**
      * Name of the log file where messages get written. Could be absolute or relative,
@@ -92,6 +112,78 @@ public final class Log {
      */
     private static String logFileName;
 
+    /**
+     * Decides what the asynchronous logger does when its queue is full. Block makes the caller
+     * wait until the background thread caught up, DropOldest throws away the oldest queued line
+     * to make room, and DropNewest throws away the line that was about to be queued.
+     */
+    public enum OverflowPolicy {
+        Block,                                                              // Caller waits for free space
+        DropOldest,                                                         // Oldest queued line is dropped
+        DropNewest                                                          // New line is dropped
+    }
+
+    /**
+     * Queue capacity for the asynchronous mode. Zero (the default) means synchronous logging,
+     * where every line opens, writes and closes the log file on the caller's thread.
+     */
+    private static int asyncCapacity = 0;
+
+    /** Overflow policy used by the asynchronous mode. */
+    private static OverflowPolicy overflowPolicy = OverflowPolicy.Block;
+
+    /**
+     * Segment size for the memory-mapped backend. Zero (the default) means the log file is
+     * written through a file channel (asynchronous mode) or opened per line (synchronous mode).
+     */
+    private static int mappedSegmentSize = 0;
+
+    /** Size limit of the log file before it is rotated, or 0 for no size based rotation. */
+    private static long rollMaxBytes = 0;
+
+    /** Wall-clock rotation interval in milliseconds, or 0 for no time based rotation. */
+    private static long rollIntervalMillis = 0;
+
+    /** Number of rotated archives to keep. Rotation is off while this is 0. */
+    private static int rollMaxArchives = 0;
+
+    /**
+     * The active writer, or null for the classic synchronous open/write/close path. Volatile,
+     * because log calls read it from any thread while setAsync() and shutdown() replace it.
+     */
+    private static volatile LogWriter writer;
+
+    /**
+     * The on-disk format of the log. Text is the familiar one line per record. Binary stores
+     * interned components and templates plus raw arguments in a compact form next to the text
+     * log's name ({@code .binlog}); LogDecoder renders it back to text.
+     */
+    public enum Format {
+        Text,                                                               // Human readable lines
+        Binary                                                              // Compact binary records
+    }
+
+    /** The current on-disk format. */
+    private static Format format = Format.Text;
+
+    /** The binary writer while the format is Binary, otherwise null. */
+    private static volatile BinaryLogWriter binary;
+
+    /** Lines dropped by asynchronous writers that have already been closed. */
+    private static long droppedBefore = 0;
+
+    /** Makes sure the shutdown hook is only registered once. */
+    private static boolean hookInstalled = false;
+
+    /** System property that overrides the Documents folder the Logs folder is created in. */
+    public static final String DOCUMENTS_PROPERTY = "huginandmunin.documents";
+
+    /** The resolved Documents folder, or null until getDocumentsPath() resolved it. */
+    private static volatile String documentsPath;
+
+    /** The Documents folder set through setDocumentsPath(), or null. */
+    private static String configuredDocumentsPath;
+
     /**
      * Initializes the logging utility with the specified log file name. This sets the output
      * destination for all log entries—whether it's a relative path, absolute path, or something
@@ -100,7 +192,9 @@ public final class Log {
      * 
      * @param fileName The name of the log file (e.g., "application.log").
      */
-    public static void init(String fileName) {
+    public static synchronized void init(String fileName) {
+        closeWriter();
+
         String documentFolder = getDocumentsPath();
         File logDir = new File(documentFolder, "Logs");
         if (!logDir.exists() && !logDir.mkdirs()) {
@@ -110,26 +204,283 @@ public final class Log {
 
         logFileName = new File(logDir, fileName).getAbsolutePath();
 
-        PrintWriter writer = null;
+        if (isRolling()) {
+            // Keep the previous run as an archive instead of overwriting it.
+            try {
+                RollingLogWriter.archive(logFileName, rollMaxArchives);
+            } catch (IOException ex) {
+                debug("Failed to archive previous log file: " + ex.getMessage());
+            }
+        } else {
+            PrintWriter writer = null;
+            try {
+                writer = new PrintWriter(new FileWriter(logFileName, false));
+                // Overwrite file with empty start
+            } catch (IOException ex) {
+                debug("Failed to initialize log file: " + ex.getMessage());
+            } finally {
+                close(writer);
+            }
+        }
+
+        reopen();
+        Logger.refresh();
+    }
+
+    /**
+     * Tells whether init() has set up a log file. The Logger facade uses this to decide whether
+     * its file sink is active.
+     *
+     * @return true once a log file name is known
+     */
+    static boolean isInitialized() {
+        return logFileName != null;
+    }
+
+    /**
+     * Switches the logger into asynchronous mode. Log calls then only put the finished line on a
+     * bounded queue, and a single background thread writes the queued lines in batches through
+     * one long-lived file channel. A capacity of zero or less switches back to synchronous mode.
+     * Can be called before or after init(); pending lines are flushed before the mode changes.
+     *
+     * @param capacity maximum number of lines waiting in the queue, or 0 for synchronous logging
+     * @param policy what to do with new lines while the queue is full
+     */
+    public static synchronized void setAsync(int capacity, OverflowPolicy policy) {
+        asyncCapacity = Math.max(0, capacity);
+        overflowPolicy = policy != null ? policy : OverflowPolicy.Block;
+        reopen();
+    }
+
+    /**
+     * Switches the log file to the memory-mapped backend. The file is preallocated one segment at
+     * a time and every line is copied straight into the mapped segment; when a segment is full,
+     * the next one is mapped behind it. Works on its own as well as behind the asynchronous mode.
+     * A segment size of zero or less switches back to regular file writes; smaller sizes than
+     * 4 KB are raised to 4 KB.
+     *
+     * @param segmentSize size of each mapped segment in bytes (e.g. 4 MB), or 0 to disable
+     */
+    public static synchronized void setMapped(int segmentSize) {
+        mappedSegmentSize = segmentSize > 0 ? Math.max(MappedLogWriter.MIN_SEGMENT_SIZE, segmentSize) : 0;
+        reopen();
+    }
+
+    /**
+     * Turns on log rotation. The log file is rotated once it grows past maxBytes or once the
+     * wall-clock interval is over (aligned to local time, e.g. every full hour), whichever comes
+     * first. Rotated files are renamed to {@code name-yyyyMMdd-HHmmss-SSS.log} and gzipped by a
+     * background thread, which also deletes the oldest archives beyond maxArchives. With
+     * rotation on, init() archives the previous run's log instead of truncating it. Call this
+     * before init() for that to apply to the first file. Rotation applies to the text log only;
+     * the binary log of setFormat(Format.Binary) keeps growing.
+     *
+     * @param maxBytes size limit of the log file in bytes, or 0 for no size based rotation
+     * @param interval rotation interval, or null for no time based rotation
+     * @param maxArchives number of archives to keep, or 0 to turn rotation off
+     */
+    public static synchronized void setRolling(long maxBytes, Duration interval, int maxArchives) {
+        rollMaxBytes = Math.max(0, maxBytes);
+        rollIntervalMillis = interval != null ? Math.max(0, interval.toMillis()) : 0;
+        rollMaxArchives = Math.max(0, maxArchives);
+        reopen();
+    }
+
+    /**
+     * Selects the on-disk format. In Binary mode records go to {@code <log name>.binlog} in the
+     * same folder: the level, a nanosecond timestamp, an interned component id, an interned
+     * template id and the raw template arguments, instead of a formatted text line. That cuts the
+     * bytes written and the formatting work per record substantially; use LogDecoder to read the
+     * file. The binary writer is synchronous and buffered; the asynchronous, mapped and rolling
+     * settings only apply to the text format, so the binary log is never rotated. Every switch
+     * appends a new session to the file instead of truncating it. Records that come in through
+     * the Logger facade (FileSink) are formatted already and stored as plain text records.
+     *
+     * @param formatIn the format to write from now on
+     */
+    public static synchronized void setFormat(Format formatIn) {
+        format = formatIn != null ? formatIn : Format.Text;
+        reopen();
+    }
+
+    /**
+     * Returns how many log lines were dropped by the asynchronous mode because the queue was
+     * full. Always zero with the Block policy, unless a waiting caller got interrupted.
+     *
+     * @return the total number of dropped log lines since application start
+     */
+    public static synchronized long getDroppedCount() {
+        LogWriter current = writer;
+        long count = droppedBefore;
+        if (current instanceof AsyncLogWriter async) {
+            count += async.getDroppedCount();
+        }
+        return count;
+    }
+
+    /**
+     * Blocks until every line logged so far has reached the log file. Does nothing in synchronous
+     * mode, where every line is on disk as soon as writeLine() returns.
+     */
+    public static void flush() {
+        BinaryLogWriter bin = binary;
+        LogWriter current = writer;
         try {
-            writer = new PrintWriter(new FileWriter(logFileName, false));
-            // Overwrite file with empty start
+            if (bin != null) {
+                bin.flush();
+            }
+            if (current != null) {
+                current.flush();
+            }
         } catch (IOException ex) {
-            debug("Failed to initialize log file: " + ex.getMessage());
-        } finally {
-            close(writer);
+            debug("Log flush failed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Flushes and closes the active writer. Registered as a shutdown hook as soon as an
+     * asynchronous, mapped or rolling writer is opened, so queued lines aren't lost and the mapped file
+     * gets trimmed when the JVM exits. Also waits a bounded time for the compression of rotated
+     * log files still in progress. Further log calls fall back to the synchronous path.
+     */
+    public static synchronized void shutdown() {
+        closeWriter();
+        RollingLogWriter.awaitArchiving();
+    }
+
+    /**
+     * Closes the current writer (if any) and opens a new one matching the current settings.
+     * Without a log file, or with none of asynchronous, mapped or rolling mode, the classic
+     * open/write/close path stays active.
+     */
+    private static synchronized void reopen() {
+        closeWriter();
+        if (logFileName != null && format == Format.Binary) {
+            try {
+                binary = new BinaryLogWriter(binaryFileName(logFileName));
+            } catch (IOException ex) {
+                debug("Failed to open binary log writer: " + ex.getMessage());
+                return;
+            }
+            installShutdownHook();
+            return;
+        }
+        if (logFileName == null || (asyncCapacity == 0 && mappedSegmentSize == 0 && !isRolling())) return;
+
+        String fileName = logFileName;
+        int segmentSize = mappedSegmentSize;
+        boolean autoFlush = asyncCapacity == 0;
+        RollingLogWriter.Opener opener = () -> segmentSize > 0
+            ? new MappedLogWriter(fileName, segmentSize)
+            : new ChannelLogWriter(fileName, autoFlush);
+
+        try {
+            LogWriter base = isRolling()
+                ? new RollingLogWriter(fileName, opener, rollMaxBytes, rollIntervalMillis, rollMaxArchives)
+                : opener.open();
+            writer = asyncCapacity > 0
+                ? new AsyncLogWriter(base, asyncCapacity, overflowPolicy)
+                : base;
+        } catch (IOException ex) {
+            debug("Failed to open log writer: " + ex.getMessage());
+            return;
+        }
+
+        installShutdownHook();
+    }
+
+    /** Registers shutdown() as JVM shutdown hook, once. */
+    private static synchronized void installShutdownHook() {
+        if (!hookInstalled) {
+            Runtime.getRuntime().addShutdownHook(new Thread(Log::shutdown, "HuginAndMunin-LogShutdown"));
+            hookInstalled = true;
+        }
+    }
+
+    /**
+     * Derives the binary log name from the text log name, e.g. HelloJWorld.log becomes
+     * HelloJWorld.binlog.
+     *
+     * @param fileName the text log file name
+     * @return the binary log file name
+     */
+    private static String binaryFileName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        int slash = fileName.lastIndexOf(File.separatorChar);
+        return (dot > slash ? fileName.substring(0, dot) : fileName) + ".binlog";
+    }
+
+    /**
+     * Tells whether rotation is configured with at least one trigger.
+     *
+     * @return true if log files are rotated
+     */
+    private static boolean isRolling() {
+        return rollMaxArchives > 0 && (rollMaxBytes > 0 || rollIntervalMillis > 0);
+    }
+
+    /**
+     * Detaches the current writer first, so new log calls stop using it, then closes it. A call
+     * that picked up the binary writer just before it was detached finds it closed and writes its
+     * record through the text path instead; one that picked up a closed text writer waits for the
+     * switch to finish and writes through whatever writer it set up.
+     */
+    private static synchronized void closeWriter() {
+        BinaryLogWriter bin = binary;
+        if (bin != null) {
+            binary = null;
+            try {
+                bin.close();
+            } catch (IOException ex) {
+                debug("Failed to close binary log writer: " + ex.getMessage());
+            }
+        }
+
+        LogWriter current = writer;
+        if (current == null) return;
+
+        writer = null;
+        try {
+            current.close();
+        } catch (IOException ex) {
+            debug("Failed to close log writer: " + ex.getMessage());
+        }
+        if (current instanceof AsyncLogWriter async) {
+            droppedBefore += async.getDroppedCount();
         }
     }
 
     /**
      * Sets the bitmask that defines which log levels are currently active.
      * Combines levels like Error | Info or Warning | Verbose using bitwise flags,
-     * allowing the logger to filter output without extra logic or state.
+     * allowing the logger to filter output without extra logic or state. This is the one mask
+     * of the log file: it is also the mask of the Logger's file sink ({@link Logger#FILE}).
      *
      * @param bitmaskIn the new bitmask value representing active log levels
      */
     public static void setBitmask(int bitmaskIn) {
         bitmask = bitmaskIn;
+        Logger.refresh();
+    }
+
+    /**
+     * Returns the bitmask of the active log levels.
+     *
+     * @return the bitmask
+     */
+    public static int getBitmask() {
+        return bitmask;
+    }
+
+    /**
+     * Tells whether messages of the given level would reach the log file. Costs one bitmask test
+     * and one null check, so callers can guard expensive message building with it.
+     *
+     * @param level the level to check
+     * @return true if the logger is initialized and the level is enabled
+     */
+    public static boolean isEnabled(LogLevel level) {
+        return (bitmask & level.value) != 0 && logFileName != null;
     }
 
     /**
@@ -142,20 +493,60 @@ public final class Log {
      * @param component the logical source of the message, useful for tracing system behavior
      */
     public static void writeLine(LogLevel level, String message, String component) {
-        if ((bitmask & level.value) == 0 || logFileName == null) return;
+        if (!isEnabled(level)) return;
+
+        BinaryLogWriter bin = binary;
+        if (bin != null) {
+            try {
+                if (bin.writeMessage(level.value, component, message)) return;
+            } catch (IOException ex) {
+                debug("Log write failed: " + ex.getMessage());
+                return;
+            }
+        }
 
-        String timestamp = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
-        String line = String.format("%s [%s] [%s] %s", timestamp, level.name(), component, message);
+        StringBuilder line = LogFormat.appendPrefix(LogFormat.builder(), level.name(), component).append(message);
+        writeRecord(line);
+    }
 
-        PrintWriter writer = null;
-        try {
-            writer = open();
-            writer.println(line);
-        } catch (IOException ex) {
-            debug("Log write failed: " + ex.getMessage());
-        } finally {
-            close(writer);
+    /**
+     * Writes a lazily built log entry. The supplier is only called when the level is enabled,
+     * so a disabled level costs a single bitmask test and no allocation.
+     *
+     * @param level the severity or category of the message (e.g., Error, Info, Verbose)
+     * @param message supplies the content to be logged on demand
+     * @param component the logical source of the message, useful for tracing system behavior
+     */
+    public static void writeLine(LogLevel level, Supplier<String> message, String component) {
+        if (!isEnabled(level)) return;
+
+        writeLine(level, message.get(), component);
+    }
+
+    /**
+     * Writes a log entry built from a template. Every {@code {}} in the template is replaced by
+     * the next argument, directly in the output buffer and only when the level is enabled.
+     *
+     * @param level the severity or category of the message (e.g., Error, Info, Verbose)
+     * @param template the message template, e.g. {@code "Window size {} x {}"}
+     * @param component the logical source of the message, useful for tracing system behavior
+     * @param args the values for the placeholders
+     */
+    public static void writeLine(LogLevel level, String template, String component, Object... args) {
+        if (!isEnabled(level)) return;
+
+        BinaryLogWriter bin = binary;
+        if (bin != null) {
+            try {
+                if (bin.writeTemplate(level.value, component, template, args)) return;
+            } catch (IOException ex) {
+                debug("Log write failed: " + ex.getMessage());
+                return;
+            }
         }
+
+        StringBuilder line = LogFormat.appendPrefix(LogFormat.builder(), level.name(), component);
+        writeRecord(LogFormat.appendTemplate(line, template, args));
     }
 
     /**
@@ -165,20 +556,76 @@ public final class Log {
      * @param ex the exception to capture and write to the log output
      */
     public static void writeException(Exception ex) {
-        if ((bitmask & LogLevel.Error.value) == 0 || logFileName == null) return;
+        if (!isEnabled(LogLevel.Error)) return;
+
+        BinaryLogWriter bin = binary;
+        if (bin != null) {
+            StringBuilder text = LogFormat.builder();
+            text.append(ex.getClass().getSimpleName()).append(": ").append(ex.getMessage());
+            try {
+                if (bin.writeException(LogFormat.appendTrace(text, ex))) return;
+            } catch (IOException e) {
+                debug("Exception log failed: " + e.getMessage());
+                return;
+            }
+        }
+
+        StringBuilder record = LogFormat.appendTime(LogFormat.builder(), System.currentTimeMillis());
+        record.append(" [Exception] ").append(ex.getClass().getSimpleName()).append(": ").append(ex.getMessage());
+        writeRecord(LogFormat.appendTrace(record, ex));
+    }
+
+    /**
+     * Hands a finished record to the active writer, or appends it to the log file directly when
+     * running synchronously. The direct path holds the class lock, like every settings change,
+     * so it can't interleave with a writer being closed or opened. A stack trace is passed as one record with embedded line breaks,
+     * so it can't be torn apart by lines from other threads. Also the entry point of the
+     * Logger's FileSink, which has already formatted and filtered the record.
+     *
+     * @param record the formatted record
+     */
+    static void writeRecord(CharSequence record) {
+        BinaryLogWriter bin = binary;
+        if (bin != null) {
+            try {
+                if (bin.writeText(record)) return;
+            } catch (IOException ex) {
+                debug("Log write failed: " + ex.getMessage());
+                return;
+            }
+        }
 
-        String timestamp = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
-        PrintWriter writer = null;
+        LogWriter current = writer;
         try {
-            writer = open();
-            writer.println(timestamp + " [Exception] " + ex.getClass().getSimpleName() + ": " + ex.getMessage());
-            for (StackTraceElement elem : ex.getStackTrace()) {
-                writer.println("  at " + elem.toString());
+            if (current != null && current.write(record)) return;
+
+            // No writer, or a settings change closed it under us. The class lock waits for a
+            // switch in progress to finish, so the record goes to whatever writer it set up and
+            // never into a file a new writer is just preallocating.
+            synchronized (Log.class) {
+                current = writer;
+                if (current == null || !current.write(record)) {
+                    println(record);
+                }
             }
-        } catch (IOException e) {
-            debug("Exception log failed: " + e.getMessage());
+        } catch (IOException ex) {
+            debug("Log write failed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes one record through the classic path: open the file, append the line, close it.
+     *
+     * @param record the formatted record
+     * @throws IOException if the file can't be opened
+     */
+    private static void println(CharSequence record) throws IOException {
+        PrintWriter out = null;
+        try {
+            out = open();
+            out.println(record);
         } finally {
-            close(writer);
+            close(out);
         }
     }
 
@@ -207,21 +654,73 @@ public final class Log {
     }
 
     /**
-     * Resolves the path to the user's Documents folder in a platform-aware way.
-     * <p>
-     * On Windows, runs a PowerShell command to query the actual location of "MyDocuments",
-     * which accounts for folder redirection (e.g., moved to another drive or network share).
-     * If the query fails or returns nothing, falls back to {@code user.home\Documents}.
+     * Resolves the path to the user's Documents folder in a platform-aware way. The path is
+     * resolved on the first call and cached; later calls return the cached value.
      * <p>
-     * On non-Windows systems, defaults directly to {@code user.home/Documents}.
-     * This method avoids external dependencies and keeps behavior predictable across platforms.
+     * In this order, the first one that is set wins:
+     * <ol>
+     * <li>the system property {@value #DOCUMENTS_PROPERTY}, e.g.
+     *     {@code -Dhuginandmunin.documents=D:\Data}</li>
+     * <li>a path handed to {@link #setDocumentsPath(String)}, e.g. from the configuration</li>
+     * <li>on Windows, the "MyDocuments" folder as the Swing file chooser sees it, which accounts
+     *     for folder redirection (e.g. moved to another drive or network share) without starting
+     *     a process; only if that fails, a PowerShell query</li>
+     * <li>{@code user.home/Documents}</li>
+     * </ol>
      *
      * @return the absolute path to the user's Documents folder, honoring redirection on Windows
      */
     public static String getDocumentsPath() {
-        String os = System.getProperty("os.name").toLowerCase();
+        String path = documentsPath;
+        if (path == null) {
+            path = resolveDocumentsPath();
+            documentsPath = path;
+        }
+        return path;
+    }
+
+    /**
+     * Sets the Documents folder explicitly, e.g. from the configuration. Takes effect with the
+     * next init(). The system property {@value #DOCUMENTS_PROPERTY} still takes precedence.
+     *
+     * @param path the folder the Logs folder is created in; null or empty to resolve it again
+     */
+    public static synchronized void setDocumentsPath(String path) {
+        configuredDocumentsPath = path == null || path.isBlank() ? null : path.trim();
+        documentsPath = null;
+    }
+
+    /**
+     * Does the actual resolution for getDocumentsPath(), in the documented order.
+     *
+     * @return the absolute path to the user's Documents folder
+     */
+    private static synchronized String resolveDocumentsPath() {
+        if (documentsPath != null) return documentsPath;
+
+        String property = System.getProperty(DOCUMENTS_PROPERTY);
+        if (property != null && !property.isBlank()) {
+            return property.trim();
+        }
+        if (configuredDocumentsPath != null) {
+            return configuredDocumentsPath;
+        }
+
+        String fallback = System.getProperty("user.home") + File.separator + "Documents";
+        if (!System.getProperty("os.name").toLowerCase().contains("win")) {
+            // macOS, Linux, etc.
+            return fallback;
+        }
+
+        try {
+            File folder = FileSystemView.getFileSystemView().getDefaultDirectory();
+            if (folder != null && folder.isDirectory()) {
+                return folder.getAbsolutePath();
+            }
+        } catch (RuntimeException e) {
+            debug("Shell folder lookup failed, asking PowerShell: " + e);
+        }
 
-        if (os.contains("win")) {
         try {
             ProcessBuilder pb = new ProcessBuilder(
                 "powershell", "-Command",
@@ -233,21 +732,17 @@ public final class Log {
             try (BufferedReader reader = new BufferedReader(
                 new InputStreamReader(process.getInputStream()))) {
                 String path = reader.readLine();
-                    process.waitFor();
-                    process.destroy();
+                process.waitFor();
+                process.destroy();
 
-                    if (path != null && !path.trim().isEmpty()) {
-                        return path.trim();
-                    }
+                if (path != null && !path.trim().isEmpty()) {
+                    return path.trim();
+                }
             }
         } catch (IOException | InterruptedException e) {
-                debug("PowerShell failed, falling back to user.home/Documents");
-            }
-            return System.getProperty("user.home") + File.separator + "Documents";
+            debug("PowerShell failed, falling back to user.home/Documents");
         }
-
-        // macOS, Linux, etc.
-        return System.getProperty("user.home") + File.separator + "Documents";
+        return fallback;
     }
 
     /**
@@ -256,7 +751,7 @@ public final class Log {
      *
      * @param msg the message to be displayed in the debug log
      */
-    private static void debug(String msg) {
+    static void debug(String msg) {
         String timestamp = java.time.LocalTime.now()
             .truncatedTo(java.time.temporal.ChronoUnit.MILLIS)
             .toString(); // e.g. 20:32:56.286
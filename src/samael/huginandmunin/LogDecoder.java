@@ -0,0 +1,244 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/LogDecoder.java
+// This file is part of the Samael.HuginAndMunin library. LogDecoder is the offline counterpart of the
+// binary log format written by Log in Binary mode. It reads a binary log file and renders every record
+// back into the text format of the regular log file, HH:mm:ss.SSS [Level] [Component] message, so
+// the usual tools (less, grep, diff) work on it again.
+//
+// Usage: java samael.huginandmunin.LogDecoder <binary log file> [text output file]
+// Without an output file the text goes to the console. A file that holds several sessions (one per
+// BinaryLogWriter that appended to it) is decoded session after session.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 Decodes appended sessions and float arguments.                        Version: 00.02
+// Fri 2026-10-16 Errors go to stderr with exit status 1.                               Version: 00.03
+// Fri 2026-10-16 Lengths and counts checked against the bytes left.                    Version: 00.04
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line tool that turns a binary log file back into text. Can also be used from code
+ * through {@link #decode(ByteBuffer, PrintStream)}.
+ */
+public final class LogDecoder {
+
+    /** Static tool class, no instances. */
+    private LogDecoder() {
+    }
+
+    /**
+     * Entry point of the decoder tool. Errors go to stderr and end the tool with status 1, so
+     * they neither mix with the decoded text nor look like success to a script.
+     *
+     * @param args the binary log file and, optionally, the text file to write
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java samael.huginandmunin.LogDecoder <binary log file> [text output file]");
+            System.exit(1);
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(args[0]), StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (args.length > 1) {
+                try (PrintStream out = new PrintStream(new FileOutputStream(args[1]), false, StandardCharsets.UTF_8)) {
+                    decode(data, out);
+                }
+            } else {
+                decode(data, System.out);
+                System.out.flush();
+            }
+        } catch (IOException ex) {
+            System.out.flush();
+            System.err.println("Failed to decode binary log: " + ex.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Decodes a complete binary log and prints one text record per log record. Every session
+     * header starts over with empty intern tables and its own base time. A truncated last record
+     * (e.g. the process died mid-write) ends the decoding without an error. String lengths and
+     * argument counts are checked against the bytes left before anything is allocated; one that
+     * can't fit is reported as corruption.
+     *
+     * @param data the binary log, positioned at the header
+     * @param out where the text goes
+     * @throws IOException if the data isn't a binary log or is corrupt
+     */
+    public static void decode(ByteBuffer data, PrintStream out) throws IOException {
+        long baseMillis = readHeader(data);
+
+        Map<Long, String> components = new HashMap<>();
+        Map<Long, String> templates = new HashMap<>();
+        StringBuilder line = new StringBuilder(256);
+
+        try {
+            while (data.hasRemaining()) {
+                byte tag = data.get();
+                line.setLength(0);
+                if (tag == BinaryLogWriter.MAGIC[0]) {                      // Next session
+                    data.position(data.position() - 1);
+                    baseMillis = readHeader(data);
+                    components.clear();
+                    templates.clear();
+                    continue;
+                }
+                switch (tag) {
+                    case BinaryLogWriter.TAG_COMPONENT -> components.put(readVarint(data), readString(data));
+                    case BinaryLogWriter.TAG_TEMPLATE -> templates.put(readVarint(data), readString(data));
+                    case BinaryLogWriter.TAG_RECORD -> {
+                        int level = data.get();
+                        LogFormat.appendTime(line, baseMillis + readVarint(data) / 1_000_000);
+                        long componentId = readVarint(data);
+                        String component = componentId == 0 ? readString(data) : components.get(componentId);
+                        long templateId = readVarint(data);
+                        String template = templateId == 0 ? readString(data) : templates.get(templateId);
+                        Object[] args = new Object[readLength(data, "argument count")];
+                        for (int i = 0; i < args.length; i++) {
+                            args[i] = readArg(data);
+                        }
+                        line.append(" [").append(levelName(level)).append("] [").append(component).append("] ");
+                        LogFormat.appendTemplate(line, template, args);
+                        out.println(line);
+                    }
+                    case BinaryLogWriter.TAG_EXCEPTION -> {
+                        LogFormat.appendTime(line, baseMillis + readVarint(data) / 1_000_000);
+                        out.println(line.append(" [Exception] ").append(readString(data)));
+                    }
+                    case BinaryLogWriter.TAG_TEXT -> {
+                        readVarint(data);
+                        out.println(readString(data));
+                    }
+                    default -> throw new IOException("Corrupt binary log: unknown tag " + tag + ".");
+                }
+            }
+        } catch (BufferUnderflowException ex) {
+            // The last record was cut off; everything before it has been printed.
+        }
+    }
+
+    /**
+     * Reads and checks a session header.
+     *
+     * @param data the binary log, positioned at the header
+     * @return the base epoch millis of the session
+     * @throws IOException if the data isn't a binary log header
+     */
+    private static long readHeader(ByteBuffer data) throws IOException {
+        byte[] magic = new byte[BinaryLogWriter.MAGIC.length];
+        data.get(magic);
+        if (!Arrays.equals(magic, BinaryLogWriter.MAGIC)) {
+            throw new IOException("Not a binary log file (bad magic).");
+        }
+        byte version = data.get();
+        if (version < 1 || version > BinaryLogWriter.VERSION) {
+            throw new IOException("Unsupported binary log version " + version + ".");
+        }
+        return data.getLong();
+    }
+
+    /**
+     * Returns the level name for a level bit, the same names the text log uses.
+     *
+     * @param value the level bit
+     * @return the level name
+     */
+    private static String levelName(int value) {
+        for (Level level : Level.values()) {
+            if (level.value == value) return level.name();
+        }
+        return "Level" + value;
+    }
+
+    /**
+     * Reads one typed template argument.
+     *
+     * @param data the binary log
+     * @return the argument value
+     * @throws IOException if the argument type is unknown
+     */
+    private static Object readArg(ByteBuffer data) throws IOException {
+        byte type = data.get();
+        return switch (type) {
+            case BinaryLogWriter.ARG_NULL -> null;
+            case BinaryLogWriter.ARG_LONG -> {
+                long raw = readVarint(data);
+                yield (raw >>> 1) ^ -(raw & 1);
+            }
+            case BinaryLogWriter.ARG_DOUBLE -> data.getDouble();
+            case BinaryLogWriter.ARG_BOOLEAN -> data.get() != 0;
+            case BinaryLogWriter.ARG_CHAR -> data.getChar();
+            case BinaryLogWriter.ARG_STRING -> readString(data);
+            case BinaryLogWriter.ARG_FLOAT -> data.getFloat();
+            default -> throw new IOException("Corrupt binary log: unknown argument type " + type + ".");
+        };
+    }
+
+    /**
+     * Reads a varint length followed by that many UTF-8 bytes.
+     *
+     * @param data the binary log
+     * @return the decoded string
+     * @throws IOException if the length runs past the end of the data
+     */
+    private static String readString(ByteBuffer data) throws IOException {
+        byte[] bytes = new byte[readLength(data, "string length")];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a string length or argument count. Every byte or argument takes at least one byte of
+     * the file, so a value beyond the bytes left can only come from a damaged file.
+     *
+     * @param data the binary log
+     * @param what what the value is, for the error message
+     * @return the value
+     * @throws IOException if the value is larger than the bytes left
+     */
+    private static int readLength(ByteBuffer data, String what) throws IOException {
+        long length = readVarint(data);
+        if (length < 0 || length > data.remaining()) {
+            throw new IOException("Corrupt binary log: " + what + " " + Long.toUnsignedString(length)
+                + " at offset " + data.position() + " exceeds the " + data.remaining() + " bytes left.");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint.
+     *
+     * @param data the binary log
+     * @return the value
+     */
+    private static long readVarint(ByteBuffer data) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,418 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/LogFormat.java
+// This file is part of the Samael.HuginAndMunin library. LogFormat is the garbage-free formatting
+// kitchen shared by Debug and Log. Every thread owns one reusable StringBuilder and one reusable
+// encoder with its buffers, the timestamp is encoded by hand from the epoch milliseconds, and the
+// time zone offset is only looked up again when a daylight saving transition is crossed. Together
+// this turns a log line into a handful of char copies instead of formatter, String.format and
+// concatenation garbage.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 Added appendTemplate() for {} placeholder messages.                   Version: 00.02
+// Fri 2026-10-16 Added println() with prefix and suffix for colored console output.    Version: 00.03
+// Fri 2026-10-16 Console charset shared with the asynchronous console writer.          Version: 00.04
+// Fri 2026-10-16 An argument whose toString() logs gets a fresh builder, not ours.     Version: 00.05
+// Fri 2026-10-16 render() is shared with the FlightRecorder's argument snapshots.      Version: 00.06
+// Fri 2026-10-16 Added appendTrace(), the stack trace format of all facades.           Version: 00.07
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Allocation-free building blocks for log records. All methods are static; the per-thread state
+ * lives in thread locals, so no locking is needed.
+ */
+final class LogFormat {
+
+    /** Milliseconds in one day, used to reduce an epoch timestamp to the time of day. */
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    /** Initial capacity of the per-thread builder; it grows on demand and then stays that size. */
+    private static final int BUILDER_CAPACITY = 256;
+
+    /** The zone timestamps are rendered in, same as LocalTime.now() would use. */
+    private static final ZoneRules ZONE_RULES = ZoneId.systemDefault().getRules();
+
+    /** The charset System.out encodes with, so console bytes match what println() would write. */
+    static final Charset CONSOLE_CHARSET = consoleCharset();
+
+    /** One reusable builder per thread. */
+    private static final ThreadLocal<Scratch> BUILDER = ThreadLocal.withInitial(Scratch::new);
+
+    /** One reusable console encoder per thread. */
+    private static final ThreadLocal<ConsoleEncoder> CONSOLE =
+        ThreadLocal.withInitial(ConsoleEncoder::new);
+
+    /**
+     * The currently valid zone offset together with the time span it is valid for. Replaced as
+     * a whole, so readers always see a consistent triple.
+     */
+    private static volatile OffsetWindow offset = OffsetWindow.at(System.currentTimeMillis());
+
+    /** Static utility class, no instances. */
+    private LogFormat() {
+    }
+
+    /** The per-thread builder, together with a marker telling whether it is in use. */
+    private static final class Scratch {
+
+        /** The reusable builder. */
+        final StringBuilder sb = new StringBuilder(BUILDER_CAPACITY);
+
+        /** How many argument toString() calls of this thread are running while sb holds a record. */
+        int busy;
+    }
+
+    /**
+     * Returns the calling thread's builder, emptied and ready for use. The builder is reused by
+     * the next call on the same thread, so callers must be done with it before logging again.
+     * While appendTemplate() renders an argument, a toString() that logs itself gets a fresh
+     * builder instead, so it can't wipe the record being built around it.
+     *
+     * @return the cleared per-thread StringBuilder
+     */
+    static StringBuilder builder() {
+        Scratch scratch = BUILDER.get();
+        if (scratch.busy > 0) {
+            return new StringBuilder(BUILDER_CAPACITY);
+        }
+        StringBuilder sb = scratch.sb;
+        sb.setLength(0);
+        return sb;
+    }
+
+    /**
+     * Appends the standard record prefix {@code HH:mm:ss.SSS [Level] [Component] } to the builder.
+     *
+     * @param sb the builder to append to
+     * @param level the level name, e.g. {@code Info}
+     * @param component the component that logs the message
+     * @return the same builder, for chaining
+     */
+    static StringBuilder appendPrefix(StringBuilder sb, String level, String component) {
+        appendTime(sb, System.currentTimeMillis());
+        return sb.append(" [").append(level).append("] [").append(component).append("] ");
+    }
+
+    /**
+     * Appends a message template to the builder, replacing each {@code {}} placeholder with the
+     * next argument. Surplus placeholders stay as they are, surplus arguments are ignored. Strings
+     * are appended directly; any other argument is rendered with String.valueOf() first, with
+     * the thread's builder marked busy in case its toString() logs.
+     *
+     * @param sb the builder to append to
+     * @param template the message template, e.g. {@code "Window size {} x {}"}
+     * @param args the values for the placeholders
+     * @return the same builder, for chaining
+     */
+    static StringBuilder appendTemplate(StringBuilder sb, String template, Object... args) {
+        int start = 0;
+        int argIndex = 0;
+        int length = template.length();
+        while (argIndex < args.length) {
+            int pos = template.indexOf("{}", start);
+            if (pos < 0) break;
+            sb.append(template, start, pos);
+            Object arg = args[argIndex++];
+            if (arg instanceof String text) {
+                sb.append(text);
+            } else {
+                sb.append(render(arg));
+            }
+            start = pos + 2;
+        }
+        return sb.append(template, start, length);
+    }
+
+    /**
+     * Appends the stack trace of a throwable the way printStackTrace() does: its stack lines,
+     * then its suppressed exceptions and its cause chain, each on lines of their own. A throwable
+     * that shows up a second time in the chain is only marked as circular reference, so a cause
+     * loop can't run forever. The header line ({@code Type: message}) is up to the caller.
+     *
+     * @param line the record being built
+     * @param ex the throwable
+     * @return the builder
+     */
+    static StringBuilder appendTrace(StringBuilder line, Throwable ex) {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        seen.add(ex);
+        appendTrace(line, ex, "", seen);
+        return line;
+    }
+
+    /**
+     * Appends the stack lines of a throwable, then its suppressed exceptions and its cause.
+     *
+     * @param line the record being built
+     * @param t the throwable whose stack lines are appended
+     * @param indent the tabs in front of every line, one more for each level of suppression
+     * @param seen the throwables already printed, compared by identity
+     */
+    private static void appendTrace(StringBuilder line, Throwable t, String indent, Set<Throwable> seen) {
+        for (StackTraceElement elem : t.getStackTrace()) {
+            line.append(System.lineSeparator()).append(indent).append("\tat ").append(elem);
+        }
+        for (Throwable suppressed : t.getSuppressed()) {
+            appendEnclosed(line, suppressed, indent + "\t", "Suppressed: ", seen);
+        }
+        Throwable cause = t.getCause();
+        if (cause != null) {
+            appendEnclosed(line, cause, indent, "Caused by: ", seen);
+        }
+    }
+
+    /**
+     * Appends a suppressed exception or a cause with its caption and stack lines.
+     *
+     * @param line the record being built
+     * @param t the suppressed exception or cause
+     * @param indent the tabs in front of every line
+     * @param caption "Suppressed: " or "Caused by: "
+     * @param seen the throwables already printed, compared by identity
+     */
+    private static void appendEnclosed(StringBuilder line, Throwable t, String indent, String caption, Set<Throwable> seen) {
+        line.append(System.lineSeparator()).append(indent).append(caption);
+        if (!seen.add(t)) {
+            line.append("[CIRCULAR REFERENCE: ").append(t).append(']');
+            return;
+        }
+        line.append(t);
+        appendTrace(line, t, indent, seen);
+    }
+    
+    /**
+     * Renders an argument while the thread's builder is marked busy. Also used by the
+     * FlightRecorder to take a snapshot of an argument.
+     *
+     * @param arg the argument, any type
+     * @return its text
+     */
+    static String render(Object arg) {
+        Scratch scratch = BUILDER.get();
+        scratch.busy++;
+        try {
+            return String.valueOf(arg);
+        } finally {
+            scratch.busy--;
+        }
+    }
+
+    /**
+     * Appends the local time of day as {@code HH:mm:ss.SSS} without any allocation.
+     *
+     * @param sb the builder to append to
+     * @param epochMillis the point in time as milliseconds since the epoch
+     * @return the same builder, for chaining
+     */
+    static StringBuilder appendTime(StringBuilder sb, long epochMillis) {
+        OffsetWindow window = offset;
+        if (epochMillis < window.from || epochMillis >= window.until) {
+            window = OffsetWindow.at(epochMillis);
+            offset = window;
+        }
+
+        long millisOfDay = Math.floorMod(epochMillis + window.offsetMillis, MILLIS_PER_DAY);
+        int millis = (int) (millisOfDay % 1000);
+        int seconds = (int) (millisOfDay / 1000);
+        appendTwoDigits(sb, seconds / 3600).append(':');
+        appendTwoDigits(sb, seconds / 60 % 60).append(':');
+        appendTwoDigits(sb, seconds % 60).append('.');
+        return sb.append((char) ('0' + millis / 100))
+                 .append((char) ('0' + millis / 10 % 10))
+                 .append((char) ('0' + millis % 10));
+    }
+
+    /**
+     * Encodes the text plus a line separator with the console charset and writes the bytes to
+     * the given stream in one call, without going through String.
+     *
+     * @param out the stream to write to, usually System.out
+     * @param text the text to print
+     */
+    static void println(PrintStream out, CharSequence text) {
+        CONSOLE.get().println(out, "", text, "");
+    }
+
+    /**
+     * Same as {@link #println(PrintStream, CharSequence)}, but wraps the text in a prefix and a
+     * suffix (e.g. ANSI color codes) without building a new string.
+     *
+     * @param out the stream to write to, usually System.out
+     * @param prefix written before the text
+     * @param text the text to print
+     * @param suffix written after the text, before the line separator
+     */
+    static void println(PrintStream out, String prefix, CharSequence text, String suffix) {
+        CONSOLE.get().println(out, prefix, text, suffix);
+    }
+
+    /**
+     * Appends a number between 0 and 99 as exactly two digits.
+     *
+     * @param sb the builder to append to
+     * @param value the value to append
+     * @return the same builder, for chaining
+     */
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        return sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Copies the characters of a CharSequence into a char array without creating a String.
+     *
+     * @param text the source text
+     * @param target the destination array
+     * @param offset the position in the destination array to copy to
+     * @param length the number of characters to copy
+     */
+    static void copyChars(CharSequence text, char[] target, int offset, int length) {
+        if (text instanceof StringBuilder sb) {
+            sb.getChars(0, length, target, offset);
+        } else if (text instanceof String s) {
+            s.getChars(0, length, target, offset);
+        } else {
+            for (int i = 0; i < length; i++) {
+                target[offset + i] = text.charAt(i);
+            }
+        }
+    }
+
+    /**
+     * Determines the charset System.out was created with. Java 17 takes it from
+     * {@code sun.stdout.encoding} when attached to a console, otherwise from the default charset.
+     *
+     * @return the charset to encode console output with
+     */
+    private static Charset consoleCharset() {
+        String name = System.getProperty("sun.stdout.encoding");
+        try {
+            if (name != null && Charset.isSupported(name)) {
+                return Charset.forName(name);
+            }
+        } catch (IllegalArgumentException ex) {
+            // fall through to the default charset
+        }
+        return Charset.defaultCharset();
+    }
+
+    /** A zone offset and the span of epoch milliseconds it applies to. */
+    private static final class OffsetWindow {
+
+        /** First millisecond this offset is valid (previous transition). */
+        final long from;
+
+        /** First millisecond this offset may no longer be valid (next transition). */
+        final long until;
+
+        /** The zone offset in milliseconds. */
+        final long offsetMillis;
+
+        /**
+         * Creates the window.
+         *
+         * @param from first valid millisecond
+         * @param until first invalid millisecond
+         * @param offsetMillis the offset in milliseconds
+         */
+        private OffsetWindow(long from, long until, long offsetMillis) {
+            this.from = from;
+            this.until = until;
+            this.offsetMillis = offsetMillis;
+        }
+
+        /**
+         * Looks up the offset valid at the given instant and the transitions that enclose it.
+         * Only called at startup and when a daylight saving transition was crossed.
+         *
+         * @param epochMillis the point in time
+         * @return the offset window containing that point in time
+         */
+        static OffsetWindow at(long epochMillis) {
+            Instant instant = Instant.ofEpochMilli(epochMillis);
+            ZoneOffsetTransition previous = ZONE_RULES.previousTransition(instant);
+            ZoneOffsetTransition next = ZONE_RULES.nextTransition(instant);
+            long from = previous != null ? previous.toEpochSecond() * 1000 : Long.MIN_VALUE;
+            long until = next != null ? next.toEpochSecond() * 1000 : Long.MAX_VALUE;
+            return new OffsetWindow(from, until, ZONE_RULES.getOffset(instant).getTotalSeconds() * 1000L);
+        }
+    }
+
+    /** Per-thread encoder with reusable char and byte buffers for console output. */
+    private static final class ConsoleEncoder {
+
+        /** The line separator, appended after each line. */
+        private static final String NEW_LINE = System.lineSeparator();
+
+        /** Reused encoder for the console charset. */
+        private final CharsetEncoder encoder = CONSOLE_CHARSET.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        /** Reused char storage the text is copied into. */
+        private char[] chars = new char[BUILDER_CAPACITY];
+
+        /** Reused byte storage the text is encoded into. */
+        private byte[] bytes = new byte[BUILDER_CAPACITY * 4];
+
+        /** Buffer view on {@link #chars}, recreated only when the array grows. */
+        private CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+        /** Buffer view on {@link #bytes}, recreated only when the array grows. */
+        private ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+
+        /**
+         * Encodes prefix, text, suffix and line separator and writes them with a single call.
+         *
+         * @param out the stream to write to
+         * @param prefix written before the text
+         * @param text the text to print
+         * @param suffix written after the text
+         */
+        void println(PrintStream out, String prefix, CharSequence text, String suffix) {
+            int start = prefix.length();
+            int length = text.length();
+            int end = start + length;
+            int total = end + suffix.length() + NEW_LINE.length();
+            if (chars.length < total) {
+                chars = new char[total];
+                charBuffer = CharBuffer.wrap(chars);
+            }
+            int maxBytes = (int) Math.ceil(total * (double) encoder.maxBytesPerChar());
+            if (bytes.length < maxBytes) {
+                bytes = new byte[maxBytes];
+                byteBuffer = ByteBuffer.wrap(bytes);
+            }
+
+            prefix.getChars(0, start, chars, 0);
+            copyChars(text, chars, start, length);
+            suffix.getChars(0, suffix.length(), chars, end);
+            NEW_LINE.getChars(0, NEW_LINE.length(), chars, end + suffix.length());
+            charBuffer.clear().limit(total);
+            byteBuffer.clear();
+
+            encoder.reset();
+            encoder.encode(charBuffer, byteBuffer, true);
+            encoder.flush(byteBuffer);
+            out.write(bytes, 0, byteBuffer.position());
+        }
+    }
+}
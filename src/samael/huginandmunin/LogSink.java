@@ -0,0 +1,65 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/LogSink.java
+// This file is part of the Samael.HuginAndMunin library. A LogSink is one destination of the unified
+// Logger facade: the console, the log file, an in-memory ring or anything else that wants to see log
+// records. Every sink carries its own level bitmask, so the console can show only warnings while the
+// file keeps everything. The Logger formats a record once and hands the finished text to each sink
+// whose mask accepts the level.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+/**
+ * Base class of all Logger destinations. Subclasses implement {@link #emit(Level, CharSequence)}
+ * and, if they can be switched off from the outside, {@link #isActive()}.
+ */
+public abstract class LogSink {
+
+    /** The levels this sink accepts. */
+    private volatile int bitmask = Level.All.value;
+
+    /**
+     * Returns the levels this sink accepts.
+     *
+     * @return the level bitmask
+     */
+    public int getBitmask() {
+        return bitmask;
+    }
+
+    /**
+     * Sets the levels this sink accepts, e.g. {@code Level.Error.value | Level.Warning.value}.
+     *
+     * @param bitmaskIn the new level bitmask
+     */
+    public void setBitmask(int bitmaskIn) {
+        bitmask = bitmaskIn;
+        Logger.refresh();
+    }
+
+    /**
+     * Tells whether the sink can currently write anything at all, e.g. the console sink is
+     * inactive unless the application was started with {@code -debug}. Inactive sinks don't
+     * count towards Logger.isEnabled(), so nothing is formatted for them.
+     *
+     * @return true if the sink is ready to receive records
+     */
+    public boolean isActive() {
+        return true;
+    }
+
+    /**
+     * Receives one formatted record ({@code HH:mm:ss.SSS [Level] [Component] message}). The text
+     * is only valid during the call; sinks that keep it must copy it.
+     *
+     * @param level the level of the record
+     * @param record the formatted record
+     */
+    protected abstract void emit(Level level, CharSequence record);
+}
@@ -0,0 +1,51 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/LogWriter.java
+// This file is part of the Samael.HuginAndMunin library. LogWriter is the small contract every log
+// backend fulfils: take one finished log line, put it somewhere, flush when asked and release its
+// resources on close. Log only ever talks to this interface, so backends can be stacked on top of
+// each other (e.g. the asynchronous queue in front of a long-lived file channel).
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 write() tells a closed writer apart, so the caller can fall back.     Version: 00.02
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.IOException;
+
+/**
+ * A LogWriter receives fully formatted log lines and persists them. Implementations are not
+ * required to be thread safe on their own; Log decides how calls are serialized.
+ */
+interface LogWriter {
+
+    /**
+     * Writes one log line. The line separator is appended by the writer, so callers hand over
+     * the bare text only. Multi-line records (stack traces) may contain embedded line breaks.
+     * A writer that was closed in the meantime takes no more lines and returns false; the
+     * caller then writes the line some other way.
+     *
+     * @param line the formatted log line without trailing line separator
+     * @return false if the writer is closed and the line was not written
+     * @throws IOException if the underlying target can't be written
+     */
+    boolean write(CharSequence line) throws IOException;
+
+    /**
+     * Pushes everything buffered so far down to the underlying target.
+     *
+     * @throws IOException if the underlying target can't be written
+     */
+    void flush() throws IOException;
+
+    /**
+     * Flushes and releases all resources. The writer must not be used afterwards.
+     *
+     * @throws IOException if flushing or closing fails
+     */
+    void close() throws IOException;
+}
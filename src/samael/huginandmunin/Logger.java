@@ -0,0 +1,190 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/Logger.java
+// This file is part of the Samael.HuginAndMunin library. The Logger is the single front door for
+// debugging and logging. Instead of calling Debug.writeLine() and Log.writeLine() with the same
+// message, callers hand the message to the Logger once. The Logger formats the record a single time
+// and fans the finished text out to its sinks: the console (Debug style, only with -debug), the log
+// file (everything configured in Log applies) and any number of additional sinks such as an
+// in-memory ring. Every sink has its own level bitmask.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 Every record is also kept in the FlightRecorder.                      Version: 00.02
+// Fri 2026-10-16 A supplier is recorded only if no sink built its text.                Version: 00.03
+// Fri 2026-10-16 Suppliers of disabled levels are no longer recorded.                  Version: 00.04
+// Fri 2026-10-16 writeException() prints causes and suppressed exceptions.             Version: 00.05
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Unified logging facade: one call, one formatting pass, many sinks. Debug.init() and Log.init()
+ * still set up the console and the log file; the Logger just decides who gets which record.
+ */
+public final class Logger {
+
+    /** The console sink, registered by default. Only prints with -debug. */
+    public static final ConsoleSink CONSOLE = new ConsoleSink();
+
+    /** The log file sink, registered by default. Only writes after Log.init(). */
+    public static final FileSink FILE = new FileSink();
+
+    /** The registered sinks. Replaced as a whole (copy on write), so dispatch needs no lock. */
+    private static volatile LogSink[] sinks = { CONSOLE, FILE };
+
+    /** Union of the bitmasks of all active sinks; a level outside it costs one bitmask test. */
+    private static volatile int bitmask = 0;
+
+    static {
+        refresh();
+    }
+
+    /** Static facade, no instances. */
+    private Logger() {
+    }
+
+    /**
+     * Registers an additional sink. Records logged from now on are also handed to it.
+     *
+     * @param sink the sink to add
+     */
+    public static synchronized void addSink(LogSink sink) {
+        LogSink[] current = sinks;
+        LogSink[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = sink;
+        sinks = next;
+        refresh();
+    }
+
+    /**
+     * Unregisters a sink. Does nothing if the sink isn't registered.
+     *
+     * @param sink the sink to remove
+     */
+    public static synchronized void removeSink(LogSink sink) {
+        sinks = Arrays.stream(sinks).filter(s -> s != sink).toArray(LogSink[]::new);
+        refresh();
+    }
+
+    /**
+     * Returns the registered sinks.
+     *
+     * @return an unmodifiable snapshot of the sinks
+     */
+    public static List<LogSink> getSinks() {
+        return List.of(sinks);
+    }
+
+    /**
+     * Tells whether any active sink accepts the level. Costs one bitmask test, so callers can
+     * guard expensive message building with it.
+     *
+     * @param level the level to check
+     * @return true if at least one sink would receive a record of this level
+     */
+    public static boolean isEnabled(Level level) {
+        return (bitmask & level.value) != 0;
+    }
+
+    /**
+     * Formats the message once and hands it to every sink that accepts the level. The message
+     * is kept in the FlightRecorder either way, which costs a small record object unless
+     * FlightRecorder.setBitmask() leaves the level out.
+     *
+     * @param level the severity or category of the message
+     * @param message the message to write
+     * @param component the logical source of the message
+     */
+    public static void writeLine(Level level, String message, String component) {
+        FlightRecorder.record(level.value, message, component);
+        if (!isEnabled(level)) return;
+
+        StringBuilder record = LogFormat.appendPrefix(LogFormat.builder(), level.name(), component);
+        dispatch(level, record.append(message));
+    }
+
+    /**
+     * Writes a lazily built message. The supplier is called at most once, and only if a sink
+     * accepts the level; only then the FlightRecorder keeps the message, as the built text.
+     *
+     * @param level the severity or category of the message
+     * @param message supplies the message on demand
+     * @param component the logical source of the message
+     */
+    public static void writeLine(Level level, Supplier<String> message, String component) {
+        if (!isEnabled(level)) return;
+
+        String text = message.get();
+        FlightRecorder.record(level.value, text, component);
+        StringBuilder record = LogFormat.appendPrefix(LogFormat.builder(), level.name(), component);
+        dispatch(level, record.append(text));
+    }
+
+    /**
+     * Writes a message built from a template; every {@code {}} is replaced by the next argument
+     * while the record is formatted, and only if a sink accepts the level.
+     *
+     * @param level the severity or category of the message
+     * @param template the message template, e.g. {@code "Window size {} x {}"}
+     * @param component the logical source of the message
+     * @param args the values for the placeholders
+     */
+    public static void writeLine(Level level, String template, String component, Object... args) {
+        FlightRecorder.record(level.value, template, component, args);
+        if (!isEnabled(level)) return;
+
+        StringBuilder record = LogFormat.appendPrefix(LogFormat.builder(), level.name(), component);
+        dispatch(level, LogFormat.appendTemplate(record, template, args));
+    }
+
+    /**
+     * Writes an exception with its stack trace, causes and suppressed exceptions as one Error
+     * record, in the same format as Debug.writeException().
+     *
+     * @param ex the exception to write
+     */
+    public static void writeException(Exception ex) {
+        FlightRecorder.record(ex);
+        if (!isEnabled(Level.Error)) return;
+
+        StringBuilder record = LogFormat.appendTime(LogFormat.builder(), System.currentTimeMillis());
+        record.append(" [Exception] ").append(ex.getClass().getSimpleName()).append(": ").append(ex.getMessage());
+        dispatch(Level.Error, LogFormat.appendTrace(record, ex));
+    }
+
+    /**
+     * Recomputes the union of the active sinks' bitmasks. Called whenever a sink is added or
+     * removed, a sink mask changes, or Debug.init() / Log.init() changed which sinks are active.
+     */
+    static synchronized void refresh() {
+        int union = 0;
+        for (LogSink sink : sinks) {
+            if (sink.isActive()) {
+                union |= sink.getBitmask();
+            }
+        }
+        bitmask = union;
+    }
+
+    /**
+     * Hands the formatted record to every active sink that accepts the level. The record lives
+     * in the per-thread builder, so sinks must not log through the Logger themselves.
+     *
+     * @param level the level of the record
+     * @param record the formatted record
+     */
+    private static void dispatch(Level level, CharSequence record) {
+        for (LogSink sink : sinks) {
+            if ((sink.getBitmask() & level.value) != 0 && sink.isActive()) {
+                sink.emit(level, record);
+            }
+        }
+    }
+}
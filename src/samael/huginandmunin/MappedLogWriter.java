@@ -0,0 +1,203 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/MappedLogWriter.java
+// This file is part of the Samael.HuginAndMunin library. The MappedLogWriter maps the log file into
+// memory segment by segment and copies encoded lines straight into the mapping. Each segment is
+// preallocated when it gets mapped; when it fills up, the next segment behind it is mapped and the
+// writing continues there. A log line becomes a plain memory copy, and because the data lives in
+// the page cache, the records survive a crash of the process even if nobody flushed them.
+// Java offers no supported way to unmap a segment; this writer releases full segments and the last
+// one on close() through the JDK's internal cleaner where that is available. Where it isn't (or on
+// a JDK that refuses it), Windows won't let close() cut the preallocated tail off a file that is
+// still mapped: the file then keeps its zero padding, which the next writer skips again.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 Segments are unmapped when full and before the tail is truncated.     Version: 00.02
+// Fri 2026-10-16 Segments are at least 4 KB, so a line break always fits into one.     Version: 00.03
+// Fri 2026-10-16 write() returns false once the writer is closed.                      Version: 00.04
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only log writer backed by consecutive memory-mapped segments of the log file.
+ * The methods are synchronized, so it can be used directly from several threads as well as
+ * behind the asynchronous writer.
+ */
+final class MappedLogWriter extends EncodingLogWriter {
+
+    /**
+     * Smallest segment size. A segment must at least hold the longest encoded character or line
+     * break, otherwise a write would map empty segments behind each other forever.
+     */
+    static final int MIN_SEGMENT_SIZE = 4096;
+
+    /** Block size used when looking for the end of the written data in a preallocated file. */
+    private static final int SCAN_BLOCK = 8192;
+
+    /** The channel the segments are mapped from. */
+    private final FileChannel channel;
+
+    /** Size of each mapped segment in bytes. */
+    private final int segmentSize;
+
+    /** File offset where the current segment starts. */
+    private long segmentStart;
+
+    /** sun.misc.Unsafe, if the JDK lets us have it; used to unmap segments. */
+    private static final Object UNSAFE;
+
+    /** Unsafe.invokeCleaner(ByteBuffer), or null if unavailable. */
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            Log.debug("Mapped log segments can't be unmapped on this JDK: " + ex);
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Opens (or creates) the log file and maps the first segment right behind the data that is
+     * already in the file. Zero padding left behind by a crashed process is skipped and
+     * overwritten, so the file stays one contiguous run of text.
+     *
+     * @param fileName absolute path of the log file
+     * @param segmentSize size of each mapped segment in bytes, at least {@value #MIN_SEGMENT_SIZE}
+     * @throws IOException if the file can't be opened or mapped
+     */
+    MappedLogWriter(String fileName, int segmentSize) throws IOException {
+        super(ByteBuffer.allocate(0));
+        this.segmentSize = Math.max(MIN_SEGMENT_SIZE, segmentSize);
+        this.channel = FileChannel.open(Paths.get(fileName),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map(findEnd());
+    }
+
+    @Override
+    public synchronized boolean write(CharSequence line) throws IOException {
+        return super.write(line);
+    }
+
+    /**
+     * Nothing to do: the bytes are in the page cache as soon as write() returns, and forcing
+     * them to disk after every batch would cost far more than the writes themselves.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Forces the current segment to disk, unmaps it and cuts the preallocated tail off the file,
+     * so that readers don't see a block of zero bytes after the last line. If the segment could
+     * not be unmapped and the platform refuses to truncate a mapped file (Windows), the padding
+     * stays; it is reported, and a writer opening the file later skips it.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (isClosed()) {
+            return;
+        }
+        long end = segmentStart + buffer.position();
+        try {
+            ((MappedByteBuffer) buffer).force();
+            unmap(buffer);
+            buffer = ByteBuffer.allocate(0);
+            try {
+                channel.truncate(end);
+            } catch (IOException ex) {
+                Log.debug("Could not cut the preallocated tail off the mapped log file: " + ex.getMessage());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /** The writer is closed once close() swapped the mapped segment for an empty buffer. */
+    @Override
+    protected boolean isClosed() {
+        return !(buffer instanceof MappedByteBuffer);
+    }
+
+    @Override
+    protected void overflow() throws IOException {
+        ByteBuffer full = buffer;
+        map(segmentStart + buffer.position());
+        unmap(full);
+    }
+
+    /**
+     * Releases a segment right away instead of whenever the garbage collector gets to it. The
+     * segment must not be touched afterwards; this writer drops every reference to it first.
+     *
+     * @param segment the mapped segment
+     */
+    private static void unmap(ByteBuffer segment) {
+        if (INVOKE_CLEANER == null || !segment.isDirect()) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, segment);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            Log.debug("Could not unmap a log segment: " + ex);
+        }
+    }
+
+    /**
+     * Maps (and thereby preallocates) the segment starting at the given file offset.
+     *
+     * @param start file offset of the new segment
+     * @throws IOException if the segment can't be mapped
+     */
+    private void map(long start) throws IOException {
+        segmentStart = start;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, start, segmentSize);
+    }
+
+    /**
+     * Finds the offset right behind the last non-zero byte of the file. Only the preallocated
+     * tail of the last segment can be zero, so the scan stops at the first block with data.
+     *
+     * @return the offset where new lines should be appended
+     * @throws IOException if the file can't be read
+     */
+    private long findEnd() throws IOException {
+        long end = channel.size();
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK);
+        while (end > 0) {
+            long from = Math.max(0, end - SCAN_BLOCK);
+            block.clear().limit((int) (end - from));
+            while (block.hasRemaining() && channel.read(block, from + block.position()) >= 0) {
+                // keep reading until the block is full
+            }
+            for (int i = block.position() - 1; i >= 0; i--) {
+                if (block.get(i) != 0) {
+                    return from + i + 1;
+                }
+            }
+            end = from;
+        }
+        return 0;
+    }
+}
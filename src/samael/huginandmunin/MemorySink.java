@@ -0,0 +1,55 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/MemorySink.java
+// This file is part of the Samael.HuginAndMunin library. The MemorySink keeps the most recent Logger
+// records in a fixed-size ring in memory. Once the ring is full, every new record overwrites the
+// oldest one. Useful for showing recent activity in the UI or attaching it to an error report.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Logger sink holding the last N records in a ring buffer. */
+public final class MemorySink extends LogSink {
+
+    /** The ring of records; null slots haven't been written yet. */
+    private final String[] ring;
+
+    /** Total number of records ever written; the next slot is {@code count % ring.length}. */
+    private long count;
+
+    /**
+     * Creates the ring.
+     *
+     * @param capacity how many records are kept
+     */
+    public MemorySink(int capacity) {
+        ring = new String[Math.max(1, capacity)];
+    }
+
+    @Override
+    protected synchronized void emit(Level level, CharSequence record) {
+        ring[(int) (count++ % ring.length)] = record.toString();
+    }
+
+    /**
+     * Returns the records currently held, oldest first.
+     *
+     * @return a copy of the ring contents
+     */
+    public synchronized List<String> getRecords() {
+        int size = (int) Math.min(count, ring.length);
+        List<String> records = new ArrayList<>(size);
+        for (long i = count - size; i < count; i++) {
+            records.add(ring[(int) (i % ring.length)]);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,343 @@
+// ---------------------------------------------------------------------------------------------------
+// File: Samael/HuginAndMunin/RollingLogWriter.java
+// This file is part of the Samael.HuginAndMunin library. The RollingLogWriter sits in front of the
+// real log writer and starts a new log file once the current one grew past a size limit or once a
+// wall-clock interval has passed. The finished file is renamed to a timestamped archive, and a
+// background thread gzips it and deletes the oldest archives beyond the configured count. The write
+// path only pays for a rename; it never waits for compression.
+// ---------------------------------------------------------------------------------------------------
+// Author:  Patrik Eigenmann
+// eMail:   p.eigenmann72@gmail.com
+// GitHub:  https://github.com/PatrikEigenmann72/HelloJWorld
+// ---------------------------------------------------------------------------------------------------
+// Change Log:
+// Fri 2026-10-16 File created.                                                         Version: 00.01
+// Fri 2026-10-16 close() no longer waits for gzip; pruning matches archive names only. Version: 00.02
+// Fri 2026-10-16 write() returns false once the writer is closed.                      Version: 00.03
+// ---------------------------------------------------------------------------------------------------
+package samael.huginandmunin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Log writer that rotates the log file by size and by time. The methods are synchronized, so it
+ * can be used directly from several threads as well as behind the asynchronous writer.
+ */
+final class RollingLogWriter implements LogWriter {
+
+    /** Opens a fresh writer on the (new, empty) log file after each rotation. */
+    interface Opener {
+
+        /**
+         * Opens the writer for the log file.
+         *
+         * @return the new writer
+         * @throws IOException if the file can't be opened
+         */
+        LogWriter open() throws IOException;
+    }
+
+    /** Timestamp pattern of archive names; sorts chronologically as plain text. */
+    private static final DateTimeFormatter ARCHIVE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    /** Length of the line separator, counted per line towards the file size. */
+    private static final int NEW_LINE_LENGTH = System.lineSeparator().length();
+
+    /** How long awaitArchiving() waits for pending compressions. */
+    private static final long ARCHIVE_TIMEOUT_SECONDS = 10;
+
+    /** Single background thread that compresses and prunes archives. Created on first use. */
+    private static ExecutorService archiver;
+
+    /** Opens the underlying writer. */
+    private final Opener opener;
+
+    /** The active log file. */
+    private final Path file;
+
+    /** Size limit in bytes, or 0 for no size based rotation. */
+    private final long maxBytes;
+
+    /** Rotation interval in milliseconds, or 0 for no time based rotation. */
+    private final long intervalMillis;
+
+    /** Number of archives to keep. */
+    private final int maxArchives;
+
+    /** The writer on the current log file. */
+    private LogWriter target;
+
+    /** Set by close(); from then on write() refuses lines instead of rolling a new file. */
+    private boolean closed;
+
+    /**
+     * Bytes in the current log file. Counted in chars, which is exact for ASCII and a slight
+     * underestimate for other text, which is good enough for a rotation threshold.
+     */
+    private long written;
+
+    /** Epoch millisecond of the next time based rotation. */
+    private long nextRoll;
+
+    /**
+     * Creates the writer and opens the current log file.
+     *
+     * @param fileName absolute path of the log file
+     * @param opener opens the underlying writer on the log file
+     * @param maxBytes size limit in bytes, or 0 for none
+     * @param intervalMillis rotation interval in milliseconds, or 0 for none
+     * @param maxArchives number of archives to keep
+     * @throws IOException if the log file can't be opened
+     */
+    RollingLogWriter(String fileName, Opener opener, long maxBytes, long intervalMillis, int maxArchives)
+            throws IOException {
+        this.file = Paths.get(fileName);
+        this.opener = opener;
+        this.maxBytes = maxBytes;
+        this.intervalMillis = intervalMillis;
+        this.maxArchives = maxArchives;
+        this.written = Files.exists(file) ? Files.size(file) : 0;
+        this.nextRoll = nextBoundary(System.currentTimeMillis());
+        this.target = opener.open();
+    }
+
+    @Override
+    public synchronized boolean write(CharSequence line) throws IOException {
+        if (closed) return false;
+
+        int length = line.length() + NEW_LINE_LENGTH;
+        long now = System.currentTimeMillis();
+        if (written == 0 && now >= nextRoll) {
+            // Nothing to archive yet, the new interval simply starts with this line.
+            nextRoll = nextBoundary(now);
+        }
+        if (written > 0 && ((maxBytes > 0 && written + length > maxBytes) || now >= nextRoll)) {
+            roll();
+        }
+        if (!target.write(line)) return false;
+
+        written += length;
+        return true;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        target.flush();
+    }
+
+    /**
+     * Closes the current file. Pending archive compressions keep running in the background;
+     * reopening the log (e.g. through Log.setAsync()) never waits for them.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        target.close();
+    }
+
+    /**
+     * Moves an existing, non-empty log file into the archive instead of truncating it, so the
+     * history of the previous run is kept. Compression and pruning run in the background.
+     *
+     * @param fileName absolute path of the log file
+     * @param maxArchives number of archives to keep
+     * @throws IOException if the file can't be renamed
+     */
+    static void archive(String fileName, int maxArchives) throws IOException {
+        Path path = Paths.get(fileName);
+        if (Files.exists(path) && Files.size(path) > 0) {
+            archive(path, maxArchives);
+        }
+    }
+
+    /**
+     * Closes the current file, archives it and opens a fresh one. If the rename fails (e.g. on
+     * Windows while a mapped segment is still referenced) the writer keeps appending to the old
+     * file and tries again once another maxBytes were written or the next interval is over.
+     *
+     * @throws IOException if the new log file can't be opened
+     */
+    private void roll() throws IOException {
+        target.close();
+        nextRoll = nextBoundary(System.currentTimeMillis());
+        try {
+            archive(file, maxArchives);
+        } catch (IOException ex) {
+            Log.debug("Log rotation failed: " + ex.getMessage());
+        }
+        written = 0;
+        target = opener.open();
+    }
+
+    /**
+     * Computes the next interval boundary in local time, e.g. the next full hour for an interval
+     * of one hour, so rotations line up with the wall clock.
+     *
+     * @param now the current epoch millisecond
+     * @return the epoch millisecond of the next rotation, or Long.MAX_VALUE without interval
+     */
+    private long nextBoundary(long now) {
+        if (intervalMillis <= 0) return Long.MAX_VALUE;
+
+        long offset = ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochMilli(now)).getTotalSeconds() * 1000L;
+        return ((now + offset) / intervalMillis + 1) * intervalMillis - offset;
+    }
+
+    /**
+     * Renames the log file to {@code name-yyyyMMdd-HHmmss-SSS.ext} and hands it to the background
+     * thread for compression and pruning.
+     *
+     * @param path the log file
+     * @param maxArchives number of archives to keep
+     * @throws IOException if the rename fails
+     */
+    private static void archive(Path path, int maxArchives) throws IOException {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        String ext = dot > 0 ? name.substring(dot) : "";
+        String stamp = LocalDateTime.now().format(ARCHIVE_STAMP);
+
+        Path archive = path.resolveSibling(stem + "-" + stamp + ext);
+        for (int i = 1; Files.exists(archive) || Files.exists(gzipOf(archive)); i++) {
+            archive = path.resolveSibling(stem + "-" + stamp + "-" + i + ext);
+        }
+        Files.move(path, archive, StandardCopyOption.ATOMIC_MOVE);
+
+        Path finished = archive;
+        archiver().execute(() -> {
+            compress(finished);
+            prune(path.getParent(), stem, ext, maxArchives);
+        });
+    }
+
+    /**
+     * Gzips an archive into a temporary file, renames it into place and deletes the original.
+     * A half written .gz never replaces anything, even if the JVM dies in between.
+     *
+     * @param archive the uncompressed archive
+     */
+    private static void compress(Path archive) {
+        if (!Files.exists(archive)) return;                                 // Pruned before its turn came.
+
+        Path gzip = gzipOf(archive);
+        Path temp = archive.resolveSibling(gzip.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(archive);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+            in.transferTo(out);
+        } catch (IOException ex) {
+            Log.debug("Log archive compression failed: " + ex.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp, gzip, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(archive);
+        } catch (IOException ex) {
+            Log.debug("Log archive compression failed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the oldest archives so that at most maxArchives remain. Archive names carry a
+     * sortable timestamp, so name order is age order.
+     *
+     * Only names of the exact archive pattern {@code stem-yyyyMMdd-HHmmss-SSS[-n]ext[.gz]} count,
+     * so other files that merely start with the stem (e.g. HelloJWorld-notes.log) are left alone.
+     *
+     * @param dir the log directory
+     * @param stem the log file name without its extension
+     * @param ext the extension of the log file, including the dot, or empty
+     * @param maxArchives number of archives to keep
+     */
+    private static void prune(Path dir, String stem, String ext, int maxArchives) {
+        Pattern pattern = Pattern.compile(Pattern.quote(stem) + "-\\d{8}-\\d{6}-\\d{3}(-\\d+)?"
+            + Pattern.quote(ext) + "(\\.gz)?");
+        List<Path> archives = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir,
+                entry -> pattern.matcher(entry.getFileName().toString()).matches())) {
+            for (Path entry : stream) {
+                archives.add(entry);
+            }
+        } catch (IOException ex) {
+            Log.debug("Log archive pruning failed: " + ex.getMessage());
+            return;
+        }
+
+        Collections.sort(archives);
+        for (int i = 0; i < archives.size() - maxArchives; i++) {
+            try {
+                Files.deleteIfExists(archives.get(i));
+            } catch (IOException ex) {
+                Log.debug("Failed to delete log archive: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the compressed archive for an uncompressed one.
+     *
+     * @param archive the uncompressed archive
+     * @return the same path with {@code .gz} appended
+     */
+    private static Path gzipOf(Path archive) {
+        return archive.resolveSibling(archive.getFileName() + ".gz");
+    }
+
+    /**
+     * Returns the background archiver, creating its daemon thread on first use.
+     *
+     * @return the archiver executor
+     */
+    private static synchronized ExecutorService archiver() {
+        if (archiver == null) {
+            archiver = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "HuginAndMunin-LogArchiver");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return archiver;
+    }
+
+    /**
+     * Waits until all archive jobs submitted so far are done, bounded by the timeout. Only for
+     * the shutdown path, so the last archive isn't left half compressed when the JVM exits.
+     */
+    static void awaitArchiving() {
+        ExecutorService current;
+        synchronized (RollingLogWriter.class) {
+            current = archiver;
+        }
+        if (current == null) return;
+
+        try {
+            current.submit(() -> { }).get(ARCHIVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            Log.debug("Waiting for log archiving failed: " + ex);
+        }
+    }
+}
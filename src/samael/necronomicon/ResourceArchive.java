@@ -0,0 +1,332 @@
+/* ------------------------------------------------------------------------------------------------
+ * ResourceArchive.java - A ResourceArchive is the runtime side of a resource pack written by the
+ * ResourcePacker: the whole resources/ tree in one file, with an index up front and every entry
+ * aligned in the data behind it. The archive is opened once and memory-mapped as a whole; the
+ * index is decoded into a hash map, and a stored entry is handed out as a read-only slice of the
+ * mapping, without another open, another stream or a copy. Compressed entries are inflated on
+ * each request and checked against their CRC32.
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * Fri 2026-10-16 Entry count checked against the index length before sizing.       Version: 00.02
+ * Fri 2026-10-16 isUnchanged() lets a rescan keep an unchanged pack mapped.         Version: 00.03
+ * ------------------------------------------------------------------------------------------------ */
+package samael.necronomicon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only view of a resource pack. The layout is a fixed header (magic, version, entry count,
+ * index length and index checksum), the index (per entry its name, offset, stored and original
+ * size, method and checksum) and the entry data, every entry starting at a multiple of
+ * {@link #ALIGNMENT}. All numbers are big-endian.
+ */
+public final class ResourceArchive {
+
+    /** The file name of the resource pack, looked for in the working directory. */
+    public static final String FILE = "resources.pak";
+
+    /** Marks a file as a resource pack. */
+    static final byte[] MAGIC = {'H', 'J', 'R', 'P'};
+
+    /** Version of the pack layout. */
+    static final byte VERSION = 1;
+
+    /** Header bytes: magic, version, three reserved bytes, entry count, index length, index checksum. */
+    static final int HEADER_SIZE = 4 + 1 + 3 + 4 + 4 + 4;
+
+    /** Index bytes of an entry besides its name: name length, offset, stored size, size, method, checksum. */
+    static final int RECORD_SIZE = 2 + 4 + 4 + 4 + 1 + 4;
+
+    /** Entry data starts at a multiple of this, so slices of it are aligned for any primitive. */
+    static final int ALIGNMENT = 16;
+
+    /** Method of an entry that is stored as it is. */
+    static final byte STORED = 0;
+
+    /** Method of an entry that is compressed with raw deflate. */
+    static final byte DEFLATED = 1;
+
+    /** The archive file. */
+    private final Path file;
+
+    /** The whole archive, mapped read-only. */
+    private final ByteBuffer data;
+
+    /** The modification time of the file when it was mapped. */
+    private final FileTime modified;
+
+    /** The index by resource path. */
+    private final Map<String, Record> records;
+
+    /** One index record. */
+    private static final class Record {
+
+        /** Where the data of the entry starts in the archive. */
+        final int offset;
+
+        /** The bytes the entry occupies in the archive. */
+        final int stored;
+
+        /** The bytes of the resource itself. */
+        final int size;
+
+        /** STORED or DEFLATED. */
+        final byte method;
+
+        /** The CRC32 of the resource itself. */
+        final int crc;
+
+        /**
+         * Creates a record.
+         * @param offset Where the data starts.
+         * @param stored The bytes in the archive.
+         * @param size The bytes of the resource.
+         * @param method STORED or DEFLATED.
+         * @param crc The CRC32 of the resource.
+         */
+        Record(int offset, int stored, int size, byte method, int crc) {
+            this.offset = offset;
+            this.stored = stored;
+            this.size = size;
+            this.method = method;
+            this.crc = crc;
+        }
+    }
+
+    /**
+     * Creates the view; use open().
+     * @param file The archive file.
+     * @param data The mapped archive.
+     * @param modified The modification time of the file when it was mapped.
+     * @param records The decoded index.
+     */
+    private ResourceArchive(Path file, ByteBuffer data, FileTime modified, Map<String, Record> records) {
+        this.file = file;
+        this.data = data;
+        this.modified = modified;
+        this.records = records;
+    }
+
+    /**
+     * Opens and maps a resource pack and decodes its index. The file is opened exactly once;
+     * the mapping stays valid after its channel is closed.
+     * @param file The archive file.
+     * @return The archive.
+     * @throws IOException If the file can't be read or is no valid resource pack.
+     */
+    public static ResourceArchive open(Path file) throws IOException {
+        ByteBuffer data;
+        FileTime modified;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            modified = Files.getLastModifiedTime(file);
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) throw new IOException("Not a resource pack: " + file);
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        byte[] magic = new byte[MAGIC.length];
+        data.get(magic);
+        if (!Arrays.equals(magic, MAGIC) || data.get() != VERSION) throw new IOException("Not a resource pack: " + file);
+
+        data.position(8);
+        int count = data.getInt();
+        int length = data.getInt();
+        int crc = data.getInt();
+        if (count < 0 || length < 0 || length > data.limit() - HEADER_SIZE || count > length / RECORD_SIZE) {
+            throw new IOException("Damaged index: " + file);                // The count isn't covered by the checksum.
+        }
+
+        byte[] index = new byte[length];
+        data.get(index);
+        CRC32 check = new CRC32();
+        check.update(index);
+        if ((int) check.getValue() != crc) throw new IOException("Damaged index: " + file);
+
+        ByteBuffer in = ByteBuffer.wrap(index);
+        Map<String, Record> records = new HashMap<>(count * 4 / 3 + 1);
+        try {
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[in.getShort() & 0xFFFF];
+                in.get(name);
+                Record record = new Record(in.getInt(), in.getInt(), in.getInt(), in.get(), in.getInt());
+                if (record.offset < HEADER_SIZE + length || record.stored < 0 || record.size < 0
+                        || record.offset > data.limit() - record.stored) {
+                    throw new IOException("Entry outside the pack: " + file);
+                }
+                records.put(new String(name, StandardCharsets.UTF_8), record);
+            }
+        } catch (java.nio.BufferUnderflowException ex) {
+            throw new IOException("Damaged index: " + file, ex);
+        }
+        return new ResourceArchive(file, data.clear(), modified, records);
+    }
+
+    /**
+     * Tells whether the file still has the size and modification time it had when it was
+     * mapped, so the archive can be kept instead of mapping the file again.
+     * @return false if the file was changed, replaced or deleted since.
+     */
+    boolean isUnchanged() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.size() == data.capacity() && attributes.lastModifiedTime().equals(modified);
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the archive file.
+     * @return The path.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the resource paths of all entries.
+     * @return The names, e.g. resources/icons/home.png.
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(new ArrayList<>(records.keySet()));
+    }
+
+    /**
+     * Tells whether the archive holds a resource.
+     * @param resource The resource path.
+     * @return true if there is such an entry.
+     */
+    public boolean contains(String resource) {
+        return records.containsKey(resource);
+    }
+
+    /**
+     * Returns the size of a resource, uncompressed.
+     * @param resource The resource path.
+     * @return The size in bytes, or -1 if there is no such entry.
+     */
+    public int getSize(String resource) {
+        Record record = records.get(resource);
+        return record != null ? record.size : -1;
+    }
+
+    /**
+     * Returns the content of a resource. A stored entry is a slice of the mapped archive; a
+     * compressed one is inflated into a buffer of its own. Every call gets its own position
+     * and limit.
+     * @param resource The resource path.
+     * @return A read-only buffer of the content, or null if there is no such entry.
+     * @throws IOException If a compressed entry is damaged.
+     */
+    public ByteBuffer get(String resource) throws IOException {
+        Record record = records.get(resource);
+        if (record == null) return null;
+
+        ByteBuffer slice = data.slice(record.offset, record.stored);
+        if (record.method == STORED) return slice;
+
+        byte[] content = new byte[record.size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(slice);
+            int length = 0;
+            while (length < content.length && !inflater.finished()) {
+                int inflated = inflater.inflate(content, length, content.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                length += inflated;
+            }
+            if (length != content.length) throw new IOException("Truncated entry " + resource + " in " + file);
+        } catch (DataFormatException ex) {
+            throw new IOException("Damaged entry " + resource + " in " + file, ex);
+        } finally {
+            inflater.end();
+        }
+
+        CRC32 check = new CRC32();
+        check.update(content);
+        if ((int) check.getValue() != record.crc) throw new IOException("Damaged entry " + resource + " in " + file);
+        return ByteBuffer.wrap(content).asReadOnlyBuffer();
+    }
+
+    /**
+     * Opens a stream over the content of a resource.
+     * @param resource The resource path.
+     * @return The stream, or null if there is no such entry.
+     * @throws IOException If a compressed entry is damaged.
+     */
+    public InputStream stream(String resource) throws IOException {
+        ByteBuffer content = get(resource);
+        return content != null ? new BufferStream(content) : null;
+    }
+
+    @Override
+    public String toString() {
+        return file + " (" + records.size() + " entries)";
+    }
+
+    /** An InputStream reading a ByteBuffer, so a slice of the mapping is streamed without a copy. */
+    private static final class BufferStream extends InputStream {
+
+        /** The content; its position is the read position. */
+        private final ByteBuffer content;
+
+        /**
+         * Creates the stream.
+         * @param content The buffer to read.
+         */
+        BufferStream(ByteBuffer content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read() {
+            return content.hasRemaining() ? content.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            java.util.Objects.checkFromIndexSize(offset, length, bytes.length);
+            if (length == 0) return 0;
+            if (!content.hasRemaining()) return -1;
+
+            int count = Math.min(length, content.remaining());
+            content.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, content.remaining()));
+            content.position(content.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return content.remaining();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/* ------------------------------------------------------------------------------------------------
+ * ResourceCache.java - The ResourceCache keeps the decoded results of the ResourceLoader (images,
+ * texts, binary data) by their resolved resource path, so loading the same asset again is a map
+ * lookup instead of another trip to the classloader or filesystem plus another ImageIO.read().
+ * The cache has a byte budget; when it is exceeded, the least recently used resources are evicted
+ * first. Optionally the values are only held through SoftReferences, so the garbage collector may
+ * take them back under memory pressure. Hits, misses and evictions are counted.
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * Fri 2026-10-16 Added peek() for the asynchronous loaders.                        Version: 00.02
+ * ------------------------------------------------------------------------------------------------ */
+package samael.necronomicon;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.PrintStream;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache with a byte budget for decoded resources. Cached objects are shared between all
+ * callers: an Image or String handed out by the cache must not be modified.
+ */
+public final class ResourceCache {
+
+    /** Byte budget unless setBudget() says otherwise: 32 MB. */
+    private static final long DEFAULT_BUDGET = 32L * 1024 * 1024;
+
+    /** The cached resources in access order, least recently used first. Guarded by the class lock. */
+    private static final LinkedHashMap<String, Slot> SLOTS = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** The byte budget; 0 switches caching off. Guarded by the class lock. */
+    private static long budget = DEFAULT_BUDGET;
+
+    /** The estimated bytes of all cached resources. Guarded by the class lock. */
+    private static long size = 0;
+
+    /** Whether new values are held through SoftReferences. Guarded by the class lock. */
+    private static boolean soft = false;
+
+    /** Loads served from the cache. */
+    private static final LongAdder HITS = new LongAdder();
+
+    /** Loads that had to go to the classloader or filesystem. */
+    private static final LongAdder MISSES = new LongAdder();
+
+    /** Resources dropped to stay within the budget or taken back by the garbage collector. */
+    private static final LongAdder EVICTIONS = new LongAdder();
+
+    /** One cached resource. */
+    private static final class Slot {
+
+        /** The value, or a SoftReference to it. */
+        final Object value;
+
+        /** The estimated size of the value in bytes. */
+        final long bytes;
+
+        /**
+         * Creates a slot.
+         * @param value The value, or a SoftReference to it.
+         * @param bytes The estimated size of the value.
+         */
+        Slot(Object value, long bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns the value.
+         * @return The value, or null if the garbage collector took it back.
+         */
+        Object get() {
+            return value instanceof SoftReference<?> reference ? reference.get() : value;
+        }
+    }
+
+    /** Static utility, no instances. */
+    private ResourceCache() {
+    }
+
+    /**
+     * Sets the byte budget. Resources beyond the budget are evicted right away, least recently
+     * used first; a resource larger than the whole budget is not cached at all.
+     * @param bytes The budget in bytes; 0 switches caching off and empties the cache.
+     */
+    public static synchronized void setBudget(long bytes) {
+        budget = Math.max(0, bytes);
+        trim();
+    }
+
+    /**
+     * Chooses whether resources cached from now on are held through SoftReferences. Soft values
+     * may disappear under memory pressure and are then simply loaded again.
+     * @param enabled true for SoftReferences, false for strong references.
+     */
+    public static synchronized void setSoftReferences(boolean enabled) {
+        soft = enabled;
+    }
+
+    /** Drops all cached resources. The statistics are kept. */
+    public static synchronized void clear() {
+        SLOTS.clear();
+        size = 0;
+    }
+
+    /**
+     * Drops one cached resource, e.g. after the file changed.
+     * @param resource The resolved resource path, e.g. resources/icons/home.png.
+     */
+    public static synchronized void invalidate(String resource) {
+        Slot slot = SLOTS.remove(resource);
+        if (slot != null) {
+            size -= slot.bytes;
+        }
+    }
+
+    /**
+     * Returns the number of loads served from the cache.
+     * @return The hit count.
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns the number of loads that had to read and decode the resource.
+     * @return The miss count.
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Returns the number of resources evicted or taken back by the garbage collector.
+     * @return The eviction count.
+     */
+    public static long getEvictionCount() {
+        return EVICTIONS.sum();
+    }
+
+    /**
+     * Returns the estimated bytes of all cached resources.
+     * @return The cache size in bytes.
+     */
+    public static synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of cached resources.
+     * @return The entry count.
+     */
+    public static synchronized int getEntryCount() {
+        return SLOTS.size();
+    }
+
+    /**
+     * Writes the statistics to a stream.
+     * @param out The stream to write to, e.g. System.out.
+     */
+    public static synchronized void dump(PrintStream out) {
+        long hits = getHitCount();
+        long misses = getMissCount();
+        long total = hits + misses;
+        out.printf("ResourceCache: %d entries, %d of %d bytes, %d hits, %d misses (%.1f%% hit rate), %d evictions%n",
+            SLOTS.size(), size, budget, hits, misses, total == 0 ? 0.0 : 100.0 * hits / total, getEvictionCount());
+        out.flush();
+    }
+
+    /**
+     * Looks a resource up and counts the hit or miss.
+     * @param <T> The expected type of the value.
+     * @param resource The resolved resource path.
+     * @param type The expected type of the value.
+     * @return The cached value, or null if it is not cached (or cached as another type).
+     */
+    static synchronized <T> T get(String resource, Class<T> type) {
+        T value = lookup(resource, type);
+        if (value == null) {
+            MISSES.increment();
+            return null;
+        }
+        HITS.increment();
+        return value;
+    }
+
+    /**
+     * Looks a resource up and counts a hit, but not a miss: the caller loads the resource
+     * synchronously after a miss, and that load counts it.
+     * @param <T> The expected type of the value.
+     * @param resource The resolved resource path.
+     * @param type The expected type of the value.
+     * @return The cached value, or null if it is not cached (or cached as another type).
+     */
+    static synchronized <T> T peek(String resource, Class<T> type) {
+        T value = lookup(resource, type);
+        if (value != null) {
+            HITS.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Looks a resource up without counting, dropping a slot the GC has cleared.
+     * @param <T> The expected type of the value.
+     * @param resource The resolved resource path.
+     * @param type The expected type of the value.
+     * @return The cached value, or null if it is not cached (or cached as another type).
+     */
+    private static <T> T lookup(String resource, Class<T> type) {
+        Slot slot = SLOTS.get(resource);
+        Object value = slot != null ? slot.get() : null;
+        if (slot != null && value == null) {
+            SLOTS.remove(resource);                                         // Taken back by the GC.
+            size -= slot.bytes;
+            EVICTIONS.increment();
+        }
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    /**
+     * Caches a freshly loaded resource and evicts the least recently used ones if the budget
+     * is exceeded.
+     * @param resource The resolved resource path.
+     * @param value The decoded resource; null is not cached.
+     */
+    static synchronized void put(String resource, Object value) {
+        if (value == null) return;
+
+        long bytes = sizeOf(value);
+        if (bytes > budget) return;
+
+        Slot previous = SLOTS.put(resource, new Slot(soft ? new SoftReference<>(value) : value, bytes));
+        if (previous != null) {
+            size -= previous.bytes;
+        }
+        size += bytes;
+        trim();
+    }
+
+    /** Evicts least recently used resources until the cache fits its budget. */
+    private static void trim() {
+        Iterator<Slot> eldest = SLOTS.values().iterator();
+        while (size > budget && eldest.hasNext()) {
+            size -= eldest.next().bytes;
+            eldest.remove();
+            EVICTIONS.increment();
+        }
+    }
+
+    /**
+     * Estimates the memory a decoded resource occupies.
+     * @param value The resource.
+     * @return The estimated size in bytes.
+     */
+    private static long sizeOf(Object value) {
+        if (value instanceof String text) return 40 + 2L * text.length();
+        if (value instanceof byte[] bytes) return 16 + bytes.length;
+        if (value instanceof BufferedImage image) {
+            DataBuffer data = image.getRaster().getDataBuffer();
+            return 64 + (long) data.getSize() * data.getNumBanks() * DataBuffer.getDataTypeSize(data.getDataType()) / 8;
+        }
+        if (value instanceof Image image) {
+            return 64 + 4L * Math.max(0, image.getWidth(null)) * Math.max(0, image.getHeight(null));
+        }
+        return 64;
+    }
+}
@@ -0,0 +1,518 @@
+/* ------------------------------------------------------------------------------------------------
+ * ResourceIndex.java - The ResourceIndex lists everything below resources/ once, the first time a
+ * resource is asked for: the entries packed in the application JAR (or classpath folder) and the
+ * files of the local resources/ directory, both scanned in parallel, and the entries of the
+ * resource pack (resources.pak) if there is one. A resource in the pack wins over a loose file of
+ * the same name unless setArchiveFirst(false) lets loose files override it, e.g. while
+ * developing. Each entry records where it lives, its size and its type. The ResourceLoader then answers where a
+ * resource is with one hash map lookup, and a resource that doesn't exist is reported right away,
+ * without asking the class loader and the filesystem on every call. Files added to resources/
+ * while the application runs are seen after refresh().
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * Fri 2026-10-16 Entries of the resource pack indexed below the loose files.       Version: 00.02
+ * Fri 2026-10-16 Scan errors through debug(); code source scanned only once.       Version: 00.03
+ * Fri 2026-10-16 The resource pack wins unless setArchiveFirst(false).             Version: 00.04
+ * Fri 2026-10-16 A rescan reuses the mapping of an unchanged resource pack.        Version: 00.05
+ * ------------------------------------------------------------------------------------------------ */
+package samael.necronomicon;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * One-time index of all resources below {@code resources/}, by their classpath-relative path
+ * (e.g. {@code resources/icons/home.png}).
+ */
+public final class ResourceIndex {
+
+    /** The folder all resources live in, inside the JAR as well as on the filesystem. */
+    static final String ROOT = "resources/";
+
+    /** The current index; null until the first lookup. Replaced as a whole by refresh(). */
+    private static volatile Snapshot snapshot;
+
+    /** Whether the resource pack wins over loose files of the same name. */
+    private static boolean archiveFirst = true;
+
+    /** The resource pack of the last scan, kept by the next one while the file is unchanged. */
+    private static ResourceArchive archive;
+
+    /** Where a resource was found. */
+    public enum Location {
+        /** Inside a JAR on the classpath; it can be streamed but not mapped. */
+        Packed,
+        /** A file in a classpath folder. */
+        Classpath,
+        /** A file in the local resources/ directory. */
+        Filesystem,
+        /** An entry of the resource pack; served as a slice of its mapping. */
+        Archive
+    }
+
+    /** What a resource holds, judged by its file extension. */
+    public enum Type {
+        Image,
+        Text,
+        Markdown,
+        Html,
+        Css,
+        Audio,
+        Binary
+    }
+
+    /** One indexed resource. */
+    public static final class Entry {
+
+        /** The classpath-relative path, e.g. resources/icons/home.png. */
+        private final String resource;
+
+        /** Where the resource lives. */
+        private final Location location;
+
+        /** The file of the resource; null if it is packed in a JAR. */
+        private final Path path;
+
+        /** The size in bytes, or -1 if the JAR doesn't tell. */
+        private final long size;
+
+        /** The kind of content. */
+        private final Type type;
+
+        /** The resource pack holding the entry; null unless the location is Archive. */
+        final ResourceArchive archive;
+
+        /**
+         * Creates an entry of the resource pack.
+         * @param resource The classpath-relative path.
+         * @param archive The resource pack.
+         */
+        Entry(String resource, ResourceArchive archive) {
+            this.resource = resource;
+            this.location = Location.Archive;
+            this.path = null;
+            this.size = archive.getSize(resource);
+            this.type = typeOf(resource);
+            this.archive = archive;
+        }
+
+        /**
+         * Creates an entry.
+         * @param resource The classpath-relative path.
+         * @param location Where the resource lives.
+         * @param path The file of the resource, or null if it is packed.
+         * @param size The size in bytes, or -1 if unknown.
+         */
+        Entry(String resource, Location location, Path path, long size) {
+            this.resource = resource;
+            this.location = location;
+            this.path = path;
+            this.size = size;
+            this.type = typeOf(resource);
+            this.archive = null;
+        }
+
+        /**
+         * Returns the classpath-relative path.
+         * @return The resource path.
+         */
+        public String getResource() {
+            return resource;
+        }
+
+        /**
+         * Returns where the resource lives.
+         * @return The location.
+         */
+        public Location getLocation() {
+            return location;
+        }
+
+        /**
+         * Returns the file of the resource.
+         * @return The path, or null if the resource is packed in a JAR or the resource pack.
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the size of the resource.
+         * @return The size in bytes, or -1 if unknown.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the kind of content.
+         * @return The type.
+         */
+        public Type getType() {
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return resource + " (" + type + ", " + location + ", " + size + " bytes)";
+        }
+    }
+
+    /** The result of one scan. */
+    private static final class Snapshot {
+
+        /** The entries by resource path. */
+        final Map<String, Entry> entries;
+
+        /**
+         * Whether both scans succeeded. If not, a resource missing from the index may still
+         * exist, and the loader has to ask the class loader and the filesystem after all.
+         */
+        final boolean complete;
+
+        /** How long the scan took, in milliseconds. */
+        final long millis;
+
+        /**
+         * Creates the snapshot.
+         * @param entries The entries by resource path.
+         * @param complete Whether both scans succeeded.
+         * @param millis How long the scan took.
+         */
+        Snapshot(Map<String, Entry> entries, boolean complete, long millis) {
+            this.entries = entries;
+            this.complete = complete;
+            this.millis = millis;
+        }
+    }
+
+    /** Static utility, no instances. */
+    private ResourceIndex() {
+    }
+
+    /**
+     * Scans the classpath and the local resources/ directory again, e.g. after files were
+     * added. Loads already running keep the index they started with.
+     */
+    public static synchronized void refresh() {
+        snapshot = scan();
+    }
+
+    /**
+     * Sets which copy of a resource is used when the resource pack and a loose file (on the
+     * classpath or in resources/) have the same name. By default the pack wins, so a packed
+     * application serves exactly what was packed; with false, loose files override the pack
+     * and a resource can be changed without packing again. Takes effect with the next scan.
+     * @param first true to let the pack win, false to let loose files win.
+     */
+    public static synchronized void setArchiveFirst(boolean first) {
+        if (archiveFirst == first) return;
+
+        archiveFirst = first;
+        if (snapshot != null) {
+            snapshot = scan();
+        }
+    }
+
+    /**
+     * Tells whether the resource pack wins over loose files of the same name.
+     * @return true if the pack wins.
+     */
+    public static synchronized boolean isArchiveFirst() {
+        return archiveFirst;
+    }
+
+    /**
+     * Tells whether a resource exists, without any I/O once the index is built.
+     * @param resource The classpath-relative path, e.g. resources/icons/home.png.
+     * @return true if the resource is indexed.
+     */
+    public static boolean contains(String resource) {
+        return snapshot().entries.containsKey(resource);
+    }
+
+    /**
+     * Returns the number of indexed resources.
+     * @return The entry count.
+     */
+    public static int getEntryCount() {
+        return snapshot().entries.size();
+    }
+
+    /**
+     * Writes all indexed resources, sorted by path, to a stream.
+     * @param out The stream to write to, e.g. System.out.
+     */
+    public static void dump(PrintStream out) {
+        Snapshot current = snapshot();
+        out.printf("ResourceIndex: %d entries%s, scanned in %d ms%n",
+            current.entries.size(), current.complete ? "" : " (incomplete)", current.millis);
+        for (Entry entry : new TreeMap<>(current.entries).values()) {
+            out.println("  " + entry);
+        }
+        out.flush();
+    }
+
+    /**
+     * Looks a resource up.
+     * @param resource The classpath-relative path.
+     * @return The entry, or null if the resource is not indexed.
+     */
+    public static Entry lookup(String resource) {
+        return snapshot().entries.get(resource);
+    }
+
+    /**
+     * Tells whether a resource missing from the index is known not to exist.
+     * @return true if both scans succeeded.
+     */
+    static boolean isComplete() {
+        return snapshot().complete;
+    }
+
+    /**
+     * Returns the current index, scanning on first use.
+     * @return The snapshot.
+     */
+    private static Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) return current;
+
+        synchronized (ResourceIndex.class) {
+            if (snapshot == null) {
+                snapshot = scan();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Scans the classpath and the filesystem in parallel: the classpath on a thread of its own,
+     * the resource pack and the filesystem on the calling thread. Not on the loader pool, because
+     * the first lookup usually comes from a loader thread, which would then wait for its own
+     * pool. Classpath entries win over files of the same name, the same order loadResource()
+     * always used. The resource pack wins over both, or loses to both with setArchiveFirst(false).
+     * Called with the class lock held.
+     * @return The new snapshot.
+     */
+    private static Snapshot scan() {
+        long start = System.nanoTime();
+        CompletableFuture<Map<String, Entry>> classpath = CompletableFuture.supplyAsync(ResourceIndex::scanClasspath, task -> {
+            Thread thread = new Thread(task, "Necronomicon-Index");
+            thread.setDaemon(true);
+            thread.start();
+        });
+        CompletableFuture<Map<String, Entry>> filesystem = CompletableFuture.supplyAsync(ResourceIndex::scanFilesystem, Runnable::run);
+
+        Map<String, Entry> archive = scanArchive();
+        Map<String, Entry> entries = archiveFirst ? new HashMap<>() : archive;
+        boolean complete = true;
+        for (CompletableFuture<Map<String, Entry>> scan : List.of(filesystem, classpath)) {
+            try {
+                entries.putAll(scan.join());                                // Classpath last, so it wins.
+            } catch (CompletionException ex) {
+                complete = false;
+                ResourceLoader.debug("Warning", "Resource scan failed, resources are probed on every load: " + ex.getCause());
+            }
+        }
+        if (archiveFirst) {
+            entries.putAll(archive);                                        // The pack wins over both.
+        }
+        return new Snapshot(Map.copyOf(entries), complete, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Lists the resources on the classpath: the resources/ folders the class loader knows, and
+     * the JAR or folder ResourceLoader itself was loaded from (a JAR without directory entries
+     * doesn't show its resources/ folder to getResources()). That JAR or folder is skipped if
+     * getResources() already led to it.
+     * @return The entries by resource path.
+     */
+    private static Map<String, Entry> scanClasspath() {
+        Map<String, Entry> entries = new HashMap<>();
+        Set<Path> scanned = new HashSet<>();
+        try {
+            Enumeration<URL> roots = ResourceLoader.class.getClassLoader().getResources(ROOT);
+            while (roots.hasMoreElements()) {
+                Path location = scanUrl(roots.nextElement(), entries);
+                if (location != null) {
+                    scanned.add(location.toAbsolutePath().normalize());
+                }
+            }
+
+            CodeSource source = ResourceLoader.class.getProtectionDomain().getCodeSource();
+            if (source != null && source.getLocation() != null) {
+                Path location = Paths.get(source.getLocation().toURI());
+                if (scanned.contains(location.toAbsolutePath().normalize())) {
+                    return entries;                                         // Seen through getResources().
+                }
+                if (Files.isDirectory(location)) {
+                    scanFolder(location, location.resolve(ROOT), Location.Classpath, entries);
+                } else if (Files.isRegularFile(location)) {
+                    try (JarFile jar = new JarFile(location.toFile())) {
+                        scanJar(jar, entries);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (URISyntaxException | IllegalArgumentException ex) {
+            throw new IllegalStateException("Unusable classpath location", ex);
+        }
+        return entries;
+    }
+
+    /**
+     * Lists the resources below one resources/ URL of the class loader.
+     * @param root The URL of a resources/ folder, in a classpath folder or a JAR.
+     * @param entries The map to add the entries to.
+     * @return The classpath folder or JAR file that was scanned, or null for other URLs.
+     * @throws IOException If the folder or JAR cannot be read.
+     * @throws URISyntaxException If the URL is no valid file URI.
+     */
+    private static Path scanUrl(URL root, Map<String, Entry> entries) throws IOException, URISyntaxException {
+        if ("file".equals(root.getProtocol())) {
+            Path folder = Paths.get(root.toURI());
+            scanFolder(folder.getParent(), folder, Location.Classpath, entries);
+            return folder.getParent();
+        }
+        URLConnection connection = root.openConnection();
+        if (connection instanceof JarURLConnection jarConnection) {
+            jarConnection.setUseCaches(false);
+            try (JarFile jar = jarConnection.getJarFile()) {
+                scanJar(jar, entries);
+            }
+            URL jarUrl = jarConnection.getJarFileURL();
+            return "file".equals(jarUrl.getProtocol()) ? Paths.get(jarUrl.toURI()) : null;
+        }
+        return null;
+    }
+
+    /**
+     * Lists the resources packed in a JAR.
+     * @param jar The JAR.
+     * @param entries The map to add the entries to.
+     */
+    private static void scanJar(JarFile jar, Map<String, Entry> entries) {
+        Enumeration<JarEntry> all = jar.entries();
+        while (all.hasMoreElements()) {
+            JarEntry entry = all.nextElement();
+            String name = entry.getName();
+            if (!entry.isDirectory() && name.startsWith(ROOT)) {
+                entries.putIfAbsent(name, new Entry(name, Location.Packed, null, entry.getSize()));
+            }
+        }
+    }
+
+    /**
+     * Lists the entries of the resource pack in the working directory. A pack that is unchanged
+     * since the last scan is not mapped again; its archive is reused. A replaced pack is mapped
+     * anew, and the old mapping goes away once no loaded resource refers to it any more. A
+     * damaged pack is reported and left out; the loose resources are still found. Called with
+     * the class lock held.
+     * @return The entries by resource path; empty if there is no usable pack.
+     */
+    private static Map<String, Entry> scanArchive() {
+        Map<String, Entry> entries = new HashMap<>();
+        Path file = Paths.get(ResourceArchive.FILE);
+        if (!Files.isRegularFile(file)) {
+            archive = null;
+            return entries;
+        }
+
+        try {
+            if (archive == null || !archive.getFile().equals(file) || !archive.isUnchanged()) {
+                archive = null;
+                archive = ResourceArchive.open(file);
+            }
+            for (String name : archive.getNames()) {
+                entries.put(name, new Entry(name, archive));
+            }
+        } catch (IOException ex) {
+            ResourceLoader.debug("Warning", "Ignoring resource pack " + file + ": " + ex.getMessage());
+        }
+        return entries;
+    }
+
+    /**
+     * Lists the files of the local resources/ directory.
+     * @return The entries by resource path.
+     */
+    private static Map<String, Entry> scanFilesystem() {
+        Map<String, Entry> entries = new HashMap<>();
+        Path folder = Paths.get(ROOT).toAbsolutePath();
+        try {
+            scanFolder(folder.getParent(), folder, Location.Filesystem, entries);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return entries;
+    }
+
+    /**
+     * Lists the files below a resources/ folder.
+     * @param base The folder the resource paths are relative to, the parent of resources/.
+     * @param folder The resources/ folder.
+     * @param location Where the files count as found.
+     * @param entries The map to add the entries to.
+     * @throws IOException If the folder cannot be read.
+     */
+    private static void scanFolder(Path base, Path folder, Location location, Map<String, Entry> entries) throws IOException {
+        if (!Files.isDirectory(folder)) return;
+
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file)) {
+                    String name = base.relativize(file).toString().replace(java.io.File.separatorChar, '/');
+                    entries.putIfAbsent(name, new Entry(name, location, file, Files.size(file)));
+                }
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Judges the content of a resource by its file extension.
+     * @param resource The resource path.
+     * @return The type; Binary for anything unknown.
+     */
+    private static Type typeOf(String resource) {
+        String extension = resource.substring(resource.lastIndexOf('.') + 1).toLowerCase(java.util.Locale.ROOT);
+        return switch (extension) {
+            case "png", "jpg", "jpeg", "gif", "bmp", "ico" -> Type.Image;
+            case "txt" -> Type.Text;
+            case "md" -> Type.Markdown;
+            case "html", "htm" -> Type.Html;
+            case "css" -> Type.Css;
+            case "wav", "au", "aiff", "aif", "mp3", "ogg" -> Type.Audio;
+            default -> Type.Binary;
+        };
+    }
+}
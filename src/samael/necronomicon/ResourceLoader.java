@@ -21,6 +21,14 @@
  * Mon 2025-10-20 Restructured import paths. New is samael.necronomicon, not scribe.Version: 00.13
  * Mon 2025-10-20 Updated java.io.FileInputStream & java.io.IOException because of  Version: 00.14
  *                being unused.
+ * Fri 2026-10-16 Decoded images, texts and binaries kept in the ResourceCache.     Version: 00.15
+ * Fri 2026-10-16 CompletableFuture loaders and parallel preload() on a pool.       Version: 00.16
+ * Fri 2026-10-16 Memory-mapped loadBinBuffer()/loadAudioBuffer(), buffered        Version: 00.17
+ *                filesystem fallback stream.
+ * Fri 2026-10-16 Resources located through the ResourceIndex, no probing per load. Version: 00.18
+ * Fri 2026-10-16 Entries of the resource pack served from its mapping.             Version: 00.19
+ * Fri 2026-10-16 Asynchronous loads of cached resources complete right away.       Version: 00.20
+ * Fri 2026-10-16 Synchronous loads wait for the same load in flight.               Version: 00.21
  * ------------------------------------------------------------------------------------------------ */
 package samael.necronomicon;
 
@@ -28,6 +36,18 @@ package samael.necronomicon;
 import java.io.InputStream;             // For returning the resource stream
 import java.io.FileInputStream;         // For fallback loading from filesystem
 import java.io.IOException;             // For handling IO exceptions
+import java.io.BufferedInputStream;     // For buffering the filesystem fallback
+import java.nio.ByteBuffer;             // For the mapped resource views
+import java.nio.channels.FileChannel;   // For mapping resource files
+import java.util.List;                          // For the resources to preload
+import java.util.concurrent.CancellationException; // For a cancelled load in flight
+import java.util.concurrent.CompletableFuture;  // For the asynchronous loaders
+import java.util.concurrent.CompletionException; // For a failed load in flight
+import java.util.concurrent.ConcurrentHashMap;  // For the loads in flight
+import java.util.concurrent.ExecutorService;    // For the loader threads
+import java.util.concurrent.Executors;          // For creating the loader pool
+import java.util.concurrent.atomic.AtomicInteger; // For numbering the loader threads
+import java.util.function.Supplier;             // For handing a loader to the pool
 
 /**
  * This class is intended to handle the loading of various
@@ -38,41 +58,126 @@ public class ResourceLoader {
     /**
      * Loads a resource from the application's classpath or local resources folder.
      * <p>
-     * This method attempts to retrieve a specific resource—such as an image, audio file,
-     * or binary blob—using the class loader. If the resource is not found inside the JAR,
-     * it falls back to the local {@code resources/} directory. All diagnostic output is
-     * routed through in-class debug messages to avoid external dependencies.
+     * This method looks the resource up in the {@link ResourceIndex}, which knows everything
+     * inside the JAR and in the local {@code resources/} directory, and opens it where it was
+     * found, which includes the entries of the mapped resource pack ({@link ResourceArchive}).
+     * A resource that is not indexed is reported missing right away. Only if the index
+     * could not be built completely, the class loader and the filesystem are asked directly.
+     * All diagnostic output is routed through in-class debug messages to avoid external dependencies.
      *
      * @param resource the full classpath-relative path to the resource (e.g. {@code resources/icons/home.png})
      * @return an {@link InputStream} of the resource, or {@code null} if loading fails
      */
     protected static InputStream loadResource(String resource) {
-        String msg = "ResourceLoader.loadResource() called with resource: " + resource;
-        debug("Info", msg);
+        String msg;
+        ResourceIndex.Entry entry = ResourceIndex.lookup(resource);
+        if (entry == null && ResourceIndex.isComplete()) {
+            msg = "Resource not found in classpath or filesystem: " + resource;
+            debug("Error", msg);
+            return null;
+        }
 
-        InputStream stream = ResourceLoader.class.getClassLoader().getResourceAsStream(resource);
-        if (stream != null) {
-            msg = "Successfully loaded resource from classpath: " + resource;
-            debug("Info", msg);
+        try {
+            if (entry == null) return probeResource(resource);
+            if (entry.getLocation() == ResourceIndex.Location.Archive) return entry.archive.stream(resource);
+            if (entry.getLocation() == ResourceIndex.Location.Filesystem) {
+                return new BufferedInputStream(new FileInputStream(entry.getPath().toFile()));
+            }
+            InputStream stream = ResourceLoader.class.getClassLoader().getResourceAsStream(resource);
+            if (stream == null) {
+                msg = "Indexed resource vanished from the classpath: " + resource;
+                debug("Error", msg);
+            }
             return stream;
+        } catch (IOException e) {
+            msg = "Failed to open resource: " + resource;
+            debug("Error", msg);
+            debug("Error", e.toString());
+            return null;
         }
+    }
+
+    /**
+     * Asks the class loader and then the local {@code resources/} directory for a resource.
+     * Only used for resources missing from an incomplete {@link ResourceIndex}.
+     *
+     * @param resource the full classpath-relative path to the resource
+     * @return an {@link InputStream} of the resource, or {@code null} if it doesn't exist
+     * @throws IOException if the file exists but cannot be opened
+     */
+    private static InputStream probeResource(String resource) throws IOException {
+        InputStream stream = ResourceLoader.class.getClassLoader().getResourceAsStream(resource);
+        if (stream != null) return stream;
 
         java.nio.file.Path fallback = java.nio.file.Paths.get(resource);
         if (java.nio.file.Files.exists(fallback)) {
+            return new BufferedInputStream(new FileInputStream(fallback.toFile()));
+        }
+        String msg = "Resource not found in classpath or filesystem: " + resource;
+        debug("Error", msg);
+        return null;
+    }
+
+    /**
+     * Maps a resource read-only into memory instead of copying it onto the heap.
+     * <p>
+     * Finds the resource the same way as {@link #loadResource(String)}. A resource that is a
+     * plain file is memory-mapped, so its pages are read by the operating system on first access
+     * and cost no heap; an entry of the resource pack is a slice of the pack's mapping, unless it
+     * is compressed. A resource packed inside a JAR cannot be mapped; it is read once and
+     * wrapped instead.
+     *
+     * @param resource the full classpath-relative path to the resource (e.g. {@code resources/bin/data.bin})
+     * @return a read-only {@link ByteBuffer} of the whole resource, or {@code null} if loading fails
+     */
+    protected static ByteBuffer mapResource(String resource) {
+        String msg;
+        ResourceIndex.Entry entry = ResourceIndex.lookup(resource);
+        java.nio.file.Path path = entry != null ? entry.getPath() : null;
+        if (entry == null && !ResourceIndex.isComplete()) {
+            java.nio.file.Path fallback = java.nio.file.Paths.get(resource);
+            if (ResourceLoader.class.getClassLoader().getResource(resource) == null && java.nio.file.Files.isRegularFile(fallback)) {
+                path = fallback;
+            }
+        }
+
+        if (entry != null && entry.getLocation() == ResourceIndex.Location.Archive) {
             try {
-                msg = "Resource not found in classpath. Falling back to filesystem: " + fallback;
-                debug("Warning", msg);
-                return new FileInputStream(fallback.toFile());
+                return entry.archive.get(resource);
             } catch (IOException e) {
-                msg = "Failed to load resource from filesystem fallback: " + fallback;
+                msg = "Failed to read resource from pack: " + resource;
                 debug("Error", msg);
                 debug("Error", e.toString());
                 return null;
             }
         }
-        msg = "Resource not found in classpath or filesystem: " + resource;
-        debug("Error", msg);
-        return null;
+
+        if (path == null) {
+            try (InputStream stream = loadResource(resource)) {
+                if (stream == null) return null;
+                return ByteBuffer.wrap(stream.readAllBytes()).asReadOnlyBuffer();   // Packed in a JAR.
+            } catch (IOException e) {
+                msg = "Failed to read packed resource: " + resource;
+                debug("Error", msg);
+                debug("Error", e.toString());
+                return null;
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(path, java.nio.file.StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                msg = "Resource too large to be mapped into one buffer (" + size + " bytes): " + path;
+                debug("Error", msg);
+                return null;
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);    // The mapping outlives the channel.
+        } catch (IOException e) {
+            msg = "Failed to map resource: " + path;
+            debug("Error", msg);
+            debug("Error", e.toString());
+            return null;
+        }
     }
     //#endregion
 
@@ -90,6 +195,11 @@ public class ResourceLoader {
      */
     public static java.awt.Image loadIcon(String icon) {
         String resource = "resources/icons/" + icon;
+        java.awt.Image cached = ResourceCache.get(resource, java.awt.Image.class);
+        if (cached != null) return cached;
+        java.awt.Image joined = pending(resource, java.awt.Image.class);
+        if (joined != null) return joined;
+
         String msg = "Preparing to load icon: " + resource;
         debug("Info", msg);
 
@@ -99,7 +209,9 @@ public class ResourceLoader {
                 debug("Error", msg);
                 return null;
             }
-            return javax.imageio.ImageIO.read(stream);
+            java.awt.Image image = javax.imageio.ImageIO.read(stream);
+            ResourceCache.put(resource, image);
+            return image;
         } catch (IOException e) {
             msg = "Failed to load icon: " + resource;
             debug("Error", msg);
@@ -121,6 +233,11 @@ public class ResourceLoader {
      */
     public static java.awt.Image loadPicture(String picture) {
         String resource = "resources/pictures/" + picture;
+        java.awt.Image cached = ResourceCache.get(resource, java.awt.Image.class);
+        if (cached != null) return cached;
+        java.awt.Image joined = pending(resource, java.awt.Image.class);
+        if (joined != null) return joined;
+
         String msg = "Preparing to load picture: " + resource;
         debug("Info", msg);
 
@@ -130,7 +247,9 @@ public class ResourceLoader {
                 debug("Error", msg);
                 return null;
             }
-            return javax.imageio.ImageIO.read(stream);
+            java.awt.Image image = javax.imageio.ImageIO.read(stream);
+            ResourceCache.put(resource, image);
+            return image;
         } catch (IOException e) {
             msg = "Failed to load picture: " + resource;
             debug("Error", msg);
@@ -152,6 +271,11 @@ public class ResourceLoader {
      */
     public static String loadText(String file) {
         String resource = "resources/text/" + file;
+        String cached = ResourceCache.get(resource, String.class);
+        if (cached != null) return cached;
+        String joined = pending(resource, String.class);
+        if (joined != null) return joined;
+
         String msg = "Preparing to load text: " + resource;
         debug("Info", msg);
 
@@ -162,7 +286,9 @@ public class ResourceLoader {
                 return null;
             }
 
-            return new String(stream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+            String text = new String(stream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+            ResourceCache.put(resource, text);
+            return text;
         } catch (IOException e) {
             msg = "Failed to load text: " + resource;
             debug("Error", msg);
@@ -180,10 +306,15 @@ public class ResourceLoader {
      * All diagnostic output is routed through in-class debug messages to avoid external dependencies.
      *
      * @param file the filename of the binary file (e.g. {@code data.bin})
-     * @return the loaded {@code byte[]} content, or {@code null} if loading fails
+     * @return the loaded {@code byte[]} content, a copy of its own for every caller, or {@code null} if loading fails
      */
     public static byte[] loadBin(String file) {
         String resource = "resources/bin/" + file;
+        byte[] cached = ResourceCache.get(resource, byte[].class);
+        if (cached != null) return cached.clone();
+        byte[] joined = pending(resource, byte[].class);
+        if (joined != null) return joined.clone();
+
         String msg = "Preparing to load binary: " + resource;
         debug("Info", msg);
 
@@ -194,7 +325,9 @@ public class ResourceLoader {
                 return null;
             }
 
-            return stream.readAllBytes();
+            byte[] data = stream.readAllBytes();
+            ResourceCache.put(resource, data);
+            return data.clone();
         } catch (IOException e) {
             msg = "Failed to load binary: " + resource;
             debug("Error", msg);
@@ -203,6 +336,30 @@ public class ResourceLoader {
         }
     }
 
+    /**
+     * Maps a binary file from the {@code resources/bin/} subfolder into memory.
+     * <p>
+     * Unlike {@link #loadBin(String)}, the content is neither copied onto the heap nor kept in
+     * the {@link ResourceCache}; the buffer is a read-only view of the file itself, which makes
+     * it the better choice for assets of several megabytes. Every call gets a buffer of its own
+     * with its own position and limit.
+     *
+     * @param file the filename of the binary file (e.g. {@code data.bin})
+     * @return a read-only {@code ByteBuffer} of the content, or {@code null} if loading fails
+     */
+    public static ByteBuffer loadBinBuffer(String file) {
+        String resource = "resources/bin/" + file;
+        String msg = "Preparing to map binary: " + resource;
+        debug("Info", msg);
+
+        ByteBuffer buffer = mapResource(resource);
+        if (buffer == null) {
+            msg = "Missing binary resource: " + resource;
+            debug("Error", msg);
+        }
+        return buffer;
+    }
+
     /**
      * Loads an audio resource from the {@code resources/audio/} subfolder.
      * <p>
@@ -229,6 +386,29 @@ public class ResourceLoader {
         return stream;
     }
 
+    /**
+     * Maps an audio file from the {@code resources/audio/} subfolder into memory.
+     * <p>
+     * The read-only buffer is a view of the file itself, e.g. for handing PCM data to a
+     * {@code SourceDataLine} chunk by chunk without copying the whole file onto the heap first.
+     * Every call gets a buffer of its own with its own position and limit.
+     *
+     * @param audio the filename of the audio file (e.g. {@code startup.wav})
+     * @return a read-only {@code ByteBuffer} of the audio file, or {@code null} if loading fails
+     */
+    public static ByteBuffer loadAudioBuffer(String audio) {
+        String resource = "resources/audio/" + audio;
+        String msg = "Preparing to map audio: " + resource;
+        debug("Info", msg);
+
+        ByteBuffer buffer = mapResource(resource);
+        if (buffer == null) {
+            msg = "Missing audio resource: " + resource;
+            debug("Error", msg);
+        }
+        return buffer;
+    }
+
     /**
      * Loads a Markdown file from the {@code resources/markdown/} subfolder.
      * <p>
@@ -242,6 +422,11 @@ public class ResourceLoader {
      */
     public static String loadMarkdown(String file) {
         String resource = "resources/markdown/" + file;
+        String cached = ResourceCache.get(resource, String.class);
+        if (cached != null) return cached;
+        String joined = pending(resource, String.class);
+        if (joined != null) return joined;
+
         String msg = "Preparing to load markdown: " + resource;
         debug("Info", msg);
 
@@ -252,7 +437,9 @@ public class ResourceLoader {
                 return null;
             }
 
-            return new String(stream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+            String text = new String(stream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+            ResourceCache.put(resource, text);
+            return text;
         } catch (IOException e) {
             msg = "Failed to load markdown: " + resource;
             debug("Error", msg);
@@ -274,6 +461,11 @@ public class ResourceLoader {
      */
     public static String loadHtml(String file) {
         String resource = "resources/html/" + file;
+        String cached = ResourceCache.get(resource, String.class);
+        if (cached != null) return cached;
+        String joined = pending(resource, String.class);
+        if (joined != null) return joined;
+
         String msg = "Preparing to load HTML: " + resource;
         debug("Info", msg);
 
@@ -284,7 +476,9 @@ public class ResourceLoader {
                 return null;
             }
 
-            return new String(stream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+            String text = new String(stream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+            ResourceCache.put(resource, text);
+            return text;
         } catch (IOException e) {
             msg = "Failed to load HTML: " + resource;
             debug("Error", msg);
@@ -306,6 +500,11 @@ public class ResourceLoader {
      */
     public static String loadCss(String file) {
         String resource = "resources/css/" + file;
+        String cached = ResourceCache.get(resource, String.class);
+        if (cached != null) return cached;
+        String joined = pending(resource, String.class);
+        if (joined != null) return joined;
+
         String msg = "Preparing to load CSS: " + resource;
         debug("Info", msg);
 
@@ -316,7 +515,9 @@ public class ResourceLoader {
                 return null;
             }
 
-            return new String(stream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+            String text = new String(stream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+            ResourceCache.put(resource, text);
+            return text;
         } catch (IOException e) {
             msg = "Failed to load CSS: " + resource;
             debug("Error", msg);
@@ -326,6 +527,227 @@ public class ResourceLoader {
     }
     //#endregion
 
+    //#region Asynchronous loaders and preload()
+    /**
+     * Number of loader threads: one per processor, at least 2 and at most 4. Resource loading is
+     * mostly waiting for I/O and ImageIO, so a small bounded pool is enough to overlap it.
+     */
+    private static final int LOADER_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /** Numbers the loader threads. */
+    private static final AtomicInteger LOADER_COUNT = new AtomicInteger();
+
+    /**
+     * The bounded pool the asynchronous loaders run on. Daemon threads, so a pending load never
+     * keeps the application alive.
+     */
+    private static final ExecutorService LOADERS = Executors.newFixedThreadPool(LOADER_THREADS, task -> {
+        Thread thread = new Thread(task, "Necronomicon-Loader-" + LOADER_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The asynchronous loads in flight, by resolved resource path. A second request for the same
+     * resource gets the future of the first instead of loading it again.
+     */
+    private static final ConcurrentHashMap<String, CompletableFuture<?>> PENDING = new ConcurrentHashMap<>();
+
+    /** The resource the current loader thread is loading, so its own load doesn't wait for itself. */
+    private static final ThreadLocal<String> LOADING = new ThreadLocal<>();
+
+    /**
+     * Loads an icon on a loader thread, see {@link #loadIcon(String)}.
+     *
+     * @param icon the filename of the icon (e.g. {@code home.png})
+     * @return a future of the {@code Image}; it completes with {@code null} if loading fails
+     */
+    public static CompletableFuture<java.awt.Image> loadIconAsync(String icon) {
+        return async("resources/icons/" + icon, java.awt.Image.class, () -> loadIcon(icon));
+    }
+
+    /**
+     * Loads a picture on a loader thread, see {@link #loadPicture(String)}.
+     *
+     * @param picture the filename of the picture (e.g. {@code background.jpg})
+     * @return a future of the {@code Image}; it completes with {@code null} if loading fails
+     */
+    public static CompletableFuture<java.awt.Image> loadPictureAsync(String picture) {
+        return async("resources/pictures/" + picture, java.awt.Image.class, () -> loadPicture(picture));
+    }
+
+    /**
+     * Loads a text file on a loader thread, see {@link #loadText(String)}.
+     *
+     * @param file the filename of the text file (e.g. {@code license.txt})
+     * @return a future of the content; it completes with {@code null} if loading fails
+     */
+    public static CompletableFuture<String> loadTextAsync(String file) {
+        return async("resources/text/" + file, String.class, () -> loadText(file));
+    }
+
+    /**
+     * Loads a binary file on a loader thread, see {@link #loadBin(String)}.
+     *
+     * @param file the filename of the binary file (e.g. {@code data.bin})
+     * @return a future of a copy of the content of its own; it completes with {@code null} if loading fails
+     */
+    public static CompletableFuture<byte[]> loadBinAsync(String file) {
+        CompletableFuture<byte[]> shared = async("resources/bin/" + file, byte[].class, () -> loadBin(file));
+        return shared.thenApply(data -> data != null ? data.clone() : null);
+    }
+
+    /**
+     * Opens an audio resource on a loader thread, see {@link #loadAudio(String)}. Every call
+     * gets a stream of its own, so these loads are not shared.
+     *
+     * @param audio the filename of the audio file (e.g. {@code startup.wav})
+     * @return a future of the {@code InputStream}; it completes with {@code null} if loading fails
+     */
+    public static CompletableFuture<InputStream> loadAudioAsync(String audio) {
+        return CompletableFuture.supplyAsync(() -> loadAudio(audio), LOADERS);
+    }
+
+    /**
+     * Maps a binary file on a loader thread, see {@link #loadBinBuffer(String)}.
+     *
+     * @param file the filename of the binary file (e.g. {@code data.bin})
+     * @return a future of a read-only {@code ByteBuffer} of its own; it completes with {@code null} if loading fails
+     */
+    public static CompletableFuture<ByteBuffer> loadBinBufferAsync(String file) {
+        return CompletableFuture.supplyAsync(() -> loadBinBuffer(file), LOADERS);
+    }
+
+    /**
+     * Maps an audio file on a loader thread, see {@link #loadAudioBuffer(String)}.
+     *
+     * @param audio the filename of the audio file (e.g. {@code startup.wav})
+     * @return a future of a read-only {@code ByteBuffer} of its own; it completes with {@code null} if loading fails
+     */
+    public static CompletableFuture<ByteBuffer> loadAudioBufferAsync(String audio) {
+        return CompletableFuture.supplyAsync(() -> loadAudioBuffer(audio), LOADERS);
+    }
+
+    /**
+     * Loads a Markdown file on a loader thread, see {@link #loadMarkdown(String)}.
+     *
+     * @param file the filename of the Markdown file (e.g. {@code readme.md})
+     * @return a future of the content; it completes with {@code null} if loading fails
+     */
+    public static CompletableFuture<String> loadMarkdownAsync(String file) {
+        return async("resources/markdown/" + file, String.class, () -> loadMarkdown(file));
+    }
+
+    /**
+     * Loads an HTML file on a loader thread, see {@link #loadHtml(String)}.
+     *
+     * @param file the filename of the HTML file (e.g. {@code index.html})
+     * @return a future of the content; it completes with {@code null} if loading fails
+     */
+    public static CompletableFuture<String> loadHtmlAsync(String file) {
+        return async("resources/html/" + file, String.class, () -> loadHtml(file));
+    }
+
+    /**
+     * Loads a CSS file on a loader thread, see {@link #loadCss(String)}.
+     *
+     * @param file the filename of the CSS file (e.g. {@code style.css})
+     * @return a future of the content; it completes with {@code null} if loading fails
+     */
+    public static CompletableFuture<String> loadCssAsync(String file) {
+        return async("resources/css/" + file, String.class, () -> loadCss(file));
+    }
+
+    /**
+     * Fetches and decodes several resources in parallel into the {@link ResourceCache}, e.g.
+     * before the user interface is built. Each resource is named by its folder below
+     * {@code resources/} and its filename, e.g. {@code icons/home.png} or {@code html/hello.html}.
+     * A later load of the same resource, synchronous or asynchronous, is then served from the
+     * cache or joins the load still in flight.
+     *
+     * @param resources the resources to load
+     * @return a future that completes when all resources are loaded or have failed
+     */
+    public static CompletableFuture<Void> preload(List<String> resources) {
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[resources.size()];
+        for (int i = 0; i < loads.length; i++) {
+            String resource = resources.get(i);
+            int slash = resource.indexOf('/');
+            String folder = slash < 0 ? "" : resource.substring(0, slash);
+            String file = resource.substring(slash + 1);
+            loads[i] = switch (folder) {
+                case "icons"    -> loadIconAsync(file);
+                case "pictures" -> loadPictureAsync(file);
+                case "text"     -> loadTextAsync(file);
+                case "bin"      -> async("resources/bin/" + file, byte[].class, () -> loadBin(file));
+                case "markdown" -> loadMarkdownAsync(file);
+                case "html"     -> loadHtmlAsync(file);
+                case "css"      -> loadCssAsync(file);
+                default -> {
+                    debug("Warning", "Cannot preload " + resource + "; audio and unknown folders are not cached.");
+                    yield CompletableFuture.completedFuture(null);
+                }
+            };
+        }
+        return CompletableFuture.allOf(loads);
+    }
+
+    /**
+     * Waits for an asynchronous load of the resource still in flight, so a synchronous load
+     * right after preload() doesn't fetch and decode it a second time. The loader thread that
+     * runs the load itself doesn't wait for it.
+     *
+     * @param resource the resolved resource path, the key of the load
+     * @param type the type the resource is cached as
+     * @param <T> the type of the loaded resource
+     * @return the loaded resource, or {@code null} if no load is in flight or it failed
+     */
+    private static <T> T pending(String resource, Class<T> type) {
+        CompletableFuture<?> running = PENDING.get(resource);
+        if (running == null || resource.equals(LOADING.get())) return null;
+
+        try {
+            return type.cast(running.join());
+        } catch (CompletionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Runs a loader on the pool, or returns the future of the same load if it is in flight. A
+     * resource already in the {@link ResourceCache} is handed out as a completed future right
+     * away, without a trip through the pool.
+     *
+     * @param resource the resolved resource path, the key of the load
+     * @param type the type the resource is cached as
+     * @param loader the synchronous loader
+     * @param <T> the type of the loaded resource
+     * @return the future of the load
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> CompletableFuture<T> async(String resource, Class<T> type, Supplier<T> loader) {
+        T cached = ResourceCache.peek(resource, type);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<?> running = PENDING.putIfAbsent(resource, future);
+        if (running != null) return (CompletableFuture<T>) running;          // Same path, same loader, same type.
+
+        LOADERS.execute(() -> {
+            LOADING.set(resource);
+            try {
+                future.complete(loader.get());
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            } finally {
+                LOADING.remove();
+                PENDING.remove(resource, future);
+            }
+        });
+        return future;
+    }
+    //#endregion
+
     //#region Debug ANSI color codes and method
     /**
      * ANSI escape code for red text.
@@ -353,12 +775,12 @@ public class ResourceLoader {
 
     /**
      * Emulates samael.huginandmunin.Debug output without dependency.
-     * Outputs timestamped messages with severity tags.
+     * Outputs timestamped messages with severity tags. Also used by the ResourceIndex.
      *
      * @param level   Severity level: "Info", "Warning", "Error"
      * @param message The message to log
      */
-    private static void debug(String level, String message) {
+    static void debug(String level, String message) {
         String timestamp = java.time.LocalTime.now()
             .truncatedTo(java.time.temporal.ChronoUnit.MILLIS)
             .toString();
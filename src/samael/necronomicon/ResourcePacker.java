@@ -0,0 +1,261 @@
+/* ------------------------------------------------------------------------------------------------
+ * ResourcePacker.java - The ResourcePacker bundles the resources/ tree into one resource pack
+ * (resources.pak) at build time. Every file becomes one entry, named by its resource path, e.g.
+ * resources/icons/home.png, and starting at an aligned offset. Text-like files are compressed
+ * with deflate when that saves at least a tenth; images and audio that are compressed already
+ * are stored as they are, so the ResourceArchive can hand them out as slices of its mapping. At
+ * runtime the ResourceIndex picks the pack up from the working directory; its entries win over
+ * loose files of the same name unless ResourceIndex.setArchiveFirst(false) lets loose files
+ * override them, so a resource can be changed without packing again.
+ *
+ * Usage: java samael.necronomicon.ResourcePacker [--store] [resources folder] [pack file]
+ * ------------------------------------------------------------------------------------------------
+ * Author:  Patrik Eigemann
+ * eMail:   p.eigenmann72@gmail.com
+ * GitHub:  www.github.com/PatrikEigemann72/HelloJWorld
+ * ------------------------------------------------------------------------------------------------
+ * Change Log:
+ * Fri 2026-10-16 File created.                                                     Version: 00.01
+ * Fri 2026-10-16 Pack and temp file recognized by path, not by prefix.             Version: 00.02
+ * Fri 2026-10-16 Names longer than 65535 UTF-8 bytes rejected, not truncated.      Version: 00.03
+ * Fri 2026-10-16 Failures go to stderr with exit status 1.                         Version: 00.04
+ * ------------------------------------------------------------------------------------------------ */
+package samael.necronomicon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Command-line tool that writes resource packs in the layout {@link ResourceArchive} reads.
+ */
+public final class ResourcePacker {
+
+    /** File extensions whose content is compressed already; deflating them again gains nothing. */
+    private static final List<String> COMPRESSED = List.of("png", "jpg", "jpeg", "gif", "ico", "mp3", "ogg", "zip", "gz", "pak");
+
+    /** One file to pack. */
+    private static final class Item {
+
+        /** The resource path, e.g. resources/icons/home.png. */
+        final String name;
+
+        /** The bytes as they go into the pack. */
+        final byte[] stored;
+
+        /** The size of the file. */
+        final int size;
+
+        /** STORED or DEFLATED. */
+        final byte method;
+
+        /** The CRC32 of the file. */
+        final int crc;
+
+        /** Where the entry starts in the pack; set when the layout is known. */
+        int offset;
+
+        /**
+         * Creates an item.
+         * @param name The resource path.
+         * @param stored The bytes as they go into the pack.
+         * @param size The size of the file.
+         * @param method STORED or DEFLATED.
+         * @param crc The CRC32 of the file.
+         */
+        Item(String name, byte[] stored, int size, byte method, int crc) {
+            this.name = name;
+            this.stored = stored;
+            this.size = size;
+            this.method = method;
+            this.crc = crc;
+        }
+    }
+
+    /** Static tool class, no instances. */
+    private ResourcePacker() {
+    }
+
+    /**
+     * Entry point of the packer tool. Exits with status 1 if the pack can't be written, so a
+     * build script notices.
+     * @param args Optionally --store to switch compression off, the resources folder (default
+     *             resources) and the pack file (default resources.pak).
+     */
+    public static void main(String[] args) {
+        int first = args.length > 0 && args[0].equals("--store") ? 1 : 0;
+        Path folder = Paths.get(args.length > first ? args[first] : "resources");
+        Path target = Paths.get(args.length > first + 1 ? args[first + 1] : ResourceArchive.FILE);
+        try {
+            int count = pack(folder, target, first == 0);
+            System.out.println("Packed " + count + " resource(s) into " + target + ".");
+        } catch (IOException ex) {
+            System.err.println("Failed to pack " + folder + ": " + ex.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Packs a resources folder. The pack is written to a temporary file first and then moved
+     * over the old one, so a running application never maps a half written pack; it picks the
+     * new pack up with ResourceIndex.refresh(). Windows refuses to replace a file that is still
+     * mapped, so there the move fails while an application that loaded from the old pack runs.
+     * @param folder The resources folder; its files are named resources/ plus their path below it.
+     * @param target The pack file.
+     * @param compress Whether text-like files may be deflated.
+     * @return The number of packed files.
+     * @throws IOException If a file can't be read, the pack can't be written or exceeds 2 GB, or a
+     *             resource name is longer than 65535 UTF-8 bytes.
+     */
+    public static int pack(Path folder, Path target, boolean compress) throws IOException {
+        Path self = target.toAbsolutePath().normalize();
+        Path temp = self.resolveSibling(self.getFileName() + ".tmp");
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(folder)) {
+            files = walk.filter(Files::isRegularFile)
+                        .filter(file -> {
+                            Path path = file.toAbsolutePath().normalize();
+                            return !path.equals(self) && !path.equals(temp);        // Not the pack or its temp file.
+                        })
+                        .sorted()
+                        .toList();
+        }
+
+        List<Item> items = new ArrayList<>(files.size());
+        for (Path file : files) {
+            String name = ResourceIndex.ROOT + folder.relativize(file).toString().replace(java.io.File.separatorChar, '/');
+            items.add(item(name, Files.readAllBytes(file), compress));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * items.size());
+        DataOutputStream index = new DataOutputStream(bytes);
+        int length = 0;
+        for (Item item : items) {
+            int nameLength = item.name.getBytes(StandardCharsets.UTF_8).length;
+            if (nameLength > 0xFFFF) throw new IOException("Resource name too long: " + item.name);
+            length += ResourceArchive.RECORD_SIZE + nameLength;
+        }
+        long offset = align(ResourceArchive.HEADER_SIZE + length);
+        for (Item item : items) {
+            if (offset + item.stored.length > Integer.MAX_VALUE) throw new IOException("Pack would exceed 2 GB");
+
+            byte[] name = item.name.getBytes(StandardCharsets.UTF_8);
+            item.offset = (int) offset;
+            index.writeShort(name.length);
+            index.write(name);
+            index.writeInt(item.offset);
+            index.writeInt(item.stored.length);
+            index.writeInt(item.size);
+            index.writeByte(item.method);
+            index.writeInt(item.crc);
+            offset = align(offset + item.stored.length);
+        }
+        index.flush();
+        byte[] content = bytes.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ByteBuffer header = ByteBuffer.allocate(ResourceArchive.HEADER_SIZE)
+            .put(ResourceArchive.MAGIC)
+            .put(ResourceArchive.VERSION)
+            .put(new byte[3])
+            .putInt(items.size())
+            .putInt(content.length)
+            .putInt((int) crc.getValue())
+            .flip();
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, header, 0);
+            write(channel, ByteBuffer.wrap(content), ResourceArchive.HEADER_SIZE);
+            for (Item item : items) {
+                write(channel, ByteBuffer.wrap(item.stored), item.offset);
+            }
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return items.size();
+    }
+
+    /**
+     * Prepares one file: deflates it if allowed and worth it.
+     * @param name The resource path.
+     * @param content The content of the file.
+     * @param compress Whether the file may be deflated.
+     * @return The item.
+     */
+    private static Item item(String name, byte[] content, boolean compress) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        if (compress && content.length > 0 && !COMPRESSED.contains(extension)) {
+            byte[] deflated = deflate(content);
+            if (deflated.length <= content.length - content.length / 10) {
+                return new Item(name, deflated, content.length, ResourceArchive.DEFLATED, (int) crc.getValue());
+            }
+        }
+        return new Item(name, content, content.length, ResourceArchive.STORED, (int) crc.getValue());
+    }
+
+    /**
+     * Compresses with raw deflate, the format the ResourceArchive inflates.
+     * @param content The bytes to compress.
+     * @return The compressed bytes.
+     */
+    private static byte[] deflate(byte[] content) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes a whole buffer at a position.
+     * @param channel The pack file.
+     * @param buffer The bytes to write.
+     * @param position Where they go.
+     * @throws IOException If writing fails.
+     */
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Rounds an offset up to the entry alignment.
+     * @param offset The offset.
+     * @return The next multiple of the alignment.
+     */
+    private static long align(long offset) {
+        int alignment = ResourceArchive.ALIGNMENT;
+        return (offset + alignment - 1) / alignment * alignment;
+    }
+}